@@ -0,0 +1,36 @@
+package com.aruncoding.arun.employeeManagement.advice;
+
+import com.aruncoding.arun.employeeManagement.utils.CoarseClock;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * CBOR (application/cbor) counterpart of EnvelopeHttpMessageConverter, for clients that ask for it in Accept.
+ */
+public class EnvelopeCborHttpMessageConverter extends MappingJackson2CborHttpMessageConverter implements EnvelopeWritingConverter {
+
+    private final CoarseClock coarseClock;
+
+    public EnvelopeCborHttpMessageConverter(ObjectMapper objectMapper, CoarseClock coarseClock) {
+        super(objectMapper);
+        this.coarseClock = coarseClock;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (!EnvelopeWritingConverter.isEnvelopeRequested(object)) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        ObjectMapper objectMapper = getObjectMapper();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(StreamUtils.nonClosing(outputMessage.getBody()))) {
+            EnvelopeWritingConverter.writeEnvelope(objectMapper, generator, object, coarseClock);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.aruncoding.arun.employeeManagement.advice;
+
+import com.aruncoding.arun.employeeManagement.utils.CoarseClock;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Writes the ApiResponse envelope around a controller result straight into the response stream, with the
+ * same JSON an ApiResponse would produce, but without allocating one per response. Only applies to
+ * requests GlobalResponseHandler marked with {@link #ENVELOPE_ATTRIBUTE}; everything else, including the
+ * ApiResponse bodies of errors, is written unchanged.
+ */
+public class EnvelopeHttpMessageConverter extends MappingJackson2HttpMessageConverter implements EnvelopeWritingConverter {
+
+    static final String ENVELOPE_ATTRIBUTE = EnvelopeHttpMessageConverter.class.getName() + ".ENVELOPE";
+
+    private final CoarseClock coarseClock;
+
+    public EnvelopeHttpMessageConverter(ObjectMapper objectMapper, CoarseClock coarseClock) {
+        super(objectMapper);
+        this.coarseClock = coarseClock;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (!EnvelopeWritingConverter.isEnvelopeRequested(object)) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        JsonEncoding encoding = getJsonEncoding(outputMessage.getHeaders().getContentType());
+        ObjectMapper objectMapper = getObjectMapper();
+        try (JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(StreamUtils.nonClosing(outputMessage.getBody()), encoding)) {
+            EnvelopeWritingConverter.writeEnvelope(objectMapper, generator, object, coarseClock);
+        }
+    }
+}
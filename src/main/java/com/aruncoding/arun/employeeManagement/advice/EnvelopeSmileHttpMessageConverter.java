@@ -0,0 +1,37 @@
+package com.aruncoding.arun.employeeManagement.advice;
+
+import com.aruncoding.arun.employeeManagement.utils.CoarseClock;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Smile (application/x-jackson-smile) counterpart of EnvelopeHttpMessageConverter. Smile refers back to field
+ * names it has already written, so long employee lists shrink more than with CBOR.
+ */
+public class EnvelopeSmileHttpMessageConverter extends MappingJackson2SmileHttpMessageConverter implements EnvelopeWritingConverter {
+
+    private final CoarseClock coarseClock;
+
+    public EnvelopeSmileHttpMessageConverter(ObjectMapper objectMapper, CoarseClock coarseClock) {
+        super(objectMapper);
+        this.coarseClock = coarseClock;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (!EnvelopeWritingConverter.isEnvelopeRequested(object)) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        ObjectMapper objectMapper = getObjectMapper();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(StreamUtils.nonClosing(outputMessage.getBody()))) {
+            EnvelopeWritingConverter.writeEnvelope(objectMapper, generator, object, coarseClock);
+        }
+    }
+}
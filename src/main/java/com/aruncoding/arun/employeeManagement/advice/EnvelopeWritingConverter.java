@@ -0,0 +1,39 @@
+package com.aruncoding.arun.employeeManagement.advice;
+
+import com.aruncoding.arun.employeeManagement.utils.CoarseClock;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.IOException;
+
+/**
+ * Jackson converters that write the ApiResponse envelope themselves, one per format: JSON in
+ * EnvelopeHttpMessageConverter, CBOR and Smile in the binary variants. GlobalResponseHandler leaves the
+ * body unwrapped when one of them was selected.
+ */
+interface EnvelopeWritingConverter {
+
+    //The mark is taken by the first write that sees it: when that write fails, the ApiResponse of the error
+    //written next in the same request must go out as it is and not wrapped in a second envelope
+    static boolean isEnvelopeRequested(Object body) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null
+                || attributes.getAttribute(EnvelopeHttpMessageConverter.ENVELOPE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) == null) {
+            return false;
+        }
+        attributes.removeAttribute(EnvelopeHttpMessageConverter.ENVELOPE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return !(body instanceof ApiResponse<?>);
+    }
+
+    //Same fields, in the same order, as a serialized ApiResponse without error
+    static void writeEnvelope(ObjectMapper objectMapper, JsonGenerator generator, Object data, CoarseClock coarseClock) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName("data");
+        objectMapper.writeValue(generator, data);
+        generator.writeNullField("apiError");
+        generator.writeStringField("timestamp", coarseClock.isoLocalDateTime());
+        generator.writeEndObject();
+    }
+}
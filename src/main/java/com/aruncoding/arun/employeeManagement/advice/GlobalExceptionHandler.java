@@ -1,7 +1,10 @@
 package com.aruncoding.arun.employeeManagement.advice;
 
+import com.aruncoding.arun.employeeManagement.exceptions.InvalidRequestException;
+import com.aruncoding.arun.employeeManagement.exceptions.PreconditionFailedException;
 import com.aruncoding.arun.employeeManagement.exceptions.ResourceNotFoundException;
 import com.aruncoding.arun.employeeManagement.exceptions.RuntimeConflictException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -37,6 +40,41 @@ public class GlobalExceptionHandler {
         return helper(apiError);
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiResponse<?>> handlePreconditionFailedException(PreconditionFailedException e) {
+
+        ApiError apiError = ApiError
+                .builder()
+                .message(e.getMessage())
+                .status(HttpStatus.PRECONDITION_FAILED)
+                .build();
+        return helper(apiError);
+    }
+
+    //Another write committed between reading the employee and saving it and the request sent no If-Match.
+    //With If-Match the service reports the same race as PreconditionFailedException, so it gets 412 like a stale tag
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<?>> handleOptimisticLockingFailureException(OptimisticLockingFailureException e) {
+
+        ApiError apiError = ApiError
+                .builder()
+                .message("Employee was modified concurrently, fetch it again and retry")
+                .status(HttpStatus.CONFLICT)
+                .build();
+        return helper(apiError);
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ApiResponse<?>> handleInvalidRequestException(InvalidRequestException e) {
+
+        ApiError apiError = ApiError
+                .builder()
+                .message(e.getMessage())
+                .status(HttpStatus.BAD_REQUEST)
+                .build();
+        return helper(apiError);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<?>> handleInputValidationException(MethodArgumentNotValidException e) {
 
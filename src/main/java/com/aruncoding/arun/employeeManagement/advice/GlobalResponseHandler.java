@@ -1,15 +1,23 @@
 package com.aruncoding.arun.employeeManagement.advice;
 
+import com.aruncoding.arun.employeeManagement.controllers.EmployeeController;
 import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
 
 
-@RestControllerAdvice
+//Scoped to our controllers so actuator responses are not wrapped
+@RestControllerAdvice(basePackageClasses = EmployeeController.class)
 public class GlobalResponseHandler implements ResponseBodyAdvice<Object> {
+
+    //"X-Envelope: false" returns the bare data, e.g. for high volume reads that do not need the timestamp
+    public static final String ENVELOPE_HEADER = "X-Envelope";
+
     @Override
     public boolean supports(MethodParameter returnType, Class converterType) {
         return true;
@@ -17,9 +25,20 @@ public class GlobalResponseHandler implements ResponseBodyAdvice<Object> {
 
     @Override
     public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType, Class selectedConverterType, ServerHttpRequest request, ServerHttpResponse response) {
+        //The same URL answers in JSON, CBOR or Smile depending on Accept, shared caches have to keep them apart
+        response.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
         if( body instanceof ApiResponse<?>){
             return body;
         }
+        if( "false".equalsIgnoreCase(request.getHeaders().getFirst(ENVELOPE_HEADER))){
+            return body;
+        }
+        //The JSON, CBOR and Smile converters write the envelope themselves, no ApiResponse is needed for them
+        if( body != null && EnvelopeWritingConverter.class.isAssignableFrom(selectedConverterType)
+                && request instanceof ServletServerHttpRequest servletRequest){
+            servletRequest.getServletRequest().setAttribute(EnvelopeHttpMessageConverter.ENVELOPE_ATTRIBUTE, Boolean.TRUE);
+            return body;
+        }
         return new ApiResponse<>(body);
     }
 }
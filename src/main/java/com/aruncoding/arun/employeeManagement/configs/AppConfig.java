@@ -1,15 +1,76 @@
 package com.aruncoding.arun.employeeManagement.configs;
 
+import com.aruncoding.arun.employeeManagement.dto.CursorPageDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.entities.Employee;
+import com.aruncoding.arun.employeeManagement.entities.ReactiveEmployee;
+import com.aruncoding.arun.employeeManagement.mappers.EmployeeMapper;
+import com.aruncoding.arun.employeeManagement.mappers.GeneratedEmployeeMapper;
+import com.aruncoding.arun.employeeManagement.mappers.ModelMapperEmployeeMapper;
+import com.aruncoding.arun.employeeManagement.mappers.ReactiveEmployeeMapper;
+import com.aruncoding.arun.employeeManagement.utils.EntityPatcher;
+import com.aruncoding.arun.employeeManagement.utils.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.mapstruct.factory.Mappers;
 import org.modelmapper.ModelMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.support.DefaultConversionService;
+
+import java.util.Set;
 
 @Configuration
 public class AppConfig {
 
+    private static final Set<String> PATCHABLE_EMPLOYEE_FIELDS = Set.of("name", "email", "age", "salary");
+
     @Bean
     public ModelMapper getMapper(){
         return new ModelMapper();
     }
 
+    //Only these Employee properties are accepted by PATCH /employee/{id}
+    @Bean
+    public EntityPatcher<Employee> employeePatcher(){
+        return new EntityPatcher<>(Employee.class, PATCHABLE_EMPLOYEE_FIELDS,
+                DefaultConversionService.getSharedInstance());
+    }
+
+    //PATCH /reactive/employee/{id} accepts the same fields
+    @Bean
+    public EntityPatcher<ReactiveEmployee> reactiveEmployeePatcher(){
+        return new EntityPatcher<>(ReactiveEmployee.class, PATCHABLE_EMPLOYEE_FIELDS,
+                DefaultConversionService.getSharedInstance());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "employee.mapper", havingValue = "mapstruct", matchIfMissing = true)
+    public EmployeeMapper generatedEmployeeMapper(){
+        return Mappers.getMapper(GeneratedEmployeeMapper.class);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "employee.mapper", havingValue = "modelmapper")
+    public EmployeeMapper modelMapperEmployeeMapper(ModelMapper modelMapper){
+        return new ModelMapperEmployeeMapper(modelMapper);
+    }
+
+    @Bean
+    public ReactiveEmployeeMapper reactiveEmployeeMapper(){
+        return Mappers.getMapper(ReactiveEmployeeMapper.class);
+    }
+
+    //Concurrent GET /employee/{id} for the same id share one query
+    @Bean
+    public SingleFlight<Long, EmployeeDTO> employeeByIdFlight(MeterRegistry meterRegistry){
+        return new SingleFlight<>("employee.by-id", meterRegistry);
+    }
+
+    //Same for GET /employee pages, keyed by position and page size
+    @Bean
+    public SingleFlight<String, CursorPageDTO<EmployeeDTO>> employeePageFlight(MeterRegistry meterRegistry){
+        return new SingleFlight<>("employee.page", meterRegistry);
+    }
+
 }
@@ -0,0 +1,35 @@
+package com.aruncoding.arun.employeeManagement.configs;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Services only use the Spring cache annotations, the store behind them is whatever CacheManager
+ * Spring Boot configures: the in-process Caffeine cache by default (see spring.cache.* properties).
+ * A distributed cache can be plugged in by adding its starter and setting spring.cache.type
+ * (e.g. redis), or by declaring a CacheManager bean, without touching the services.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String EMPLOYEES_CACHE = "employees";
+
+    //Puts and evictions made inside a transaction reach the cache after it commits, so a rolled back write never
+    //leaves its value cached. Wraps whichever CacheManager is configured instead of replacing it
+    @Bean
+    public static BeanPostProcessor transactionAwareCacheManagerPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof CacheManager cacheManager && !(bean instanceof TransactionAwareCacheManagerProxy)
+                        ? new TransactionAwareCacheManagerProxy(cacheManager)
+                        : bean;
+            }
+        };
+    }
+}
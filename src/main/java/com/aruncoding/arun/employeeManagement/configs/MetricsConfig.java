@@ -0,0 +1,19 @@
+package com.aruncoding.arun.employeeManagement.configs;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Boot instruments HTTP requests, repositories, HikariCP, Hibernate and the caches by itself. The
+ * aspect adds timers for the beans annotated with @Timed, see EmployeeServiceImpl.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry){
+        return new TimedAspect(meterRegistry);
+    }
+}
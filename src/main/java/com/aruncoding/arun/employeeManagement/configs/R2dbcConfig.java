@@ -0,0 +1,70 @@
+package com.aruncoding.arun.employeeManagement.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.spi.ConnectionFactory;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * JPA and R2DBC share the database. Once an R2DBC ConnectionFactory exists Boot backs off from the JDBC
+ * DataSource and only auto-configures one transaction manager, so those are declared here. The JPA
+ * transaction manager stays primary for every @Transactional method and the reactive service demarcates
+ * its transactions through the TransactionalOperator.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class R2dbcConfig {
+
+    //Same spring.datasource.* properties as before; connection details from Testcontainers win when present.
+    //With read replicas enabled ReadReplicaConfig declares the DataSource instead
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    @ConditionalOnProperty(name = "employee.datasource.replicas.enabled", havingValue = "false", matchIfMissing = true)
+    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                       ObjectProvider<JdbcConnectionDetails> jdbcConnectionDetails){
+        return createDataSource(dataSourceProperties, jdbcConnectionDetails.getIfAvailable());
+    }
+
+    static HikariDataSource createDataSource(DataSourceProperties dataSourceProperties, JdbcConnectionDetails connectionDetails){
+        if(connectionDetails == null) {
+            return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        }
+        return DataSourceBuilder.create(dataSourceProperties.getClassLoader())
+                .type(HikariDataSource.class)
+                .driverClassName(connectionDetails.getDriverClassName())
+                .url(connectionDetails.getJdbcUrl())
+                .username(connectionDetails.getUsername())
+                .password(connectionDetails.getPassword())
+                .build();
+    }
+
+    @Bean
+    @Primary
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory){
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+
+    @Bean
+    public ReactiveTransactionManager reactiveTransactionManager(ConnectionFactory connectionFactory){
+        return new R2dbcTransactionManager(connectionFactory);
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator(ReactiveTransactionManager reactiveTransactionManager){
+        return TransactionalOperator.create(reactiveTransactionManager);
+    }
+}
@@ -0,0 +1,65 @@
+package com.aruncoding.arun.employeeManagement.configs;
+
+import com.aruncoding.arun.employeeManagement.utils.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the single pool from R2dbcConfig when employee.datasource.replicas.enabled is set:
+ * {@code @Transactional(readOnly = true)} methods read from a replica, everything else uses the primary.
+ * Only JPA/JDBC is routed, the reactive endpoints keep using spring.r2dbc.url.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.datasource.replicas.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReadReplicaConfig {
+
+    //Every pool gets the spring.datasource.hikari settings, replicas are additionally read only
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                                 ObjectProvider<JdbcConnectionDetails> jdbcConnectionDetails,
+                                                                 ReplicaProperties replicaProperties,
+                                                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                                                 Environment environment) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = R2dbcConfig.createDataSource(dataSourceProperties, jdbcConnectionDetails.getIfAvailable());
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (ReplicaProperties.Node node : replicaProperties.getNodes()) {
+            HikariDataSource replica = new HikariDataSource();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setJdbcUrl(node.getUrl());
+            replica.setUsername(node.getUsername() == null ? primary.getUsername() : node.getUsername());
+            replica.setPassword(node.getPassword() == null ? primary.getPassword() : node.getPassword());
+            replica.setReadOnly(true);
+            //Boot only instruments the pool it can unwrap from the DataSource bean, which is the primary
+            meterRegistry.ifAvailable(replica::setMetricRegistry);
+            replicas.add(replica);
+        }
+        return new ReadWriteRoutingDataSource(primary, replicas, replicaProperties.getSelection(),
+                ReadWriteRoutingDataSource.MYSQL_LAG_PROBE, replicaProperties.getMaxLag(), replicaProperties.getLagCheckInterval());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+}
@@ -0,0 +1,35 @@
+package com.aruncoding.arun.employeeManagement.configs;
+
+import com.aruncoding.arun.employeeManagement.utils.ReadWriteRoutingDataSource;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties("employee.datasource.replicas")
+public class ReplicaProperties {
+
+    private boolean enabled;
+
+    private ReadWriteRoutingDataSource.Selection selection = ReadWriteRoutingDataSource.Selection.ROUND_ROBIN;
+
+    private Duration maxLag = Duration.ofSeconds(2);
+
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+
+    private List<Node> nodes = new ArrayList<>();
+
+    @Data
+    public static class Node {
+
+        private String url;
+
+        //Both default to spring.datasource.username and password
+        private String username;
+
+        private String password;
+    }
+}
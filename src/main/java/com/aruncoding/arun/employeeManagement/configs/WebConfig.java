@@ -0,0 +1,46 @@
+package com.aruncoding.arun.employeeManagement.configs;
+
+import com.aruncoding.arun.employeeManagement.advice.EnvelopeCborHttpMessageConverter;
+import com.aruncoding.arun.employeeManagement.advice.EnvelopeHttpMessageConverter;
+import com.aruncoding.arun.employeeManagement.advice.EnvelopeSmileHttpMessageConverter;
+import com.aruncoding.arun.employeeManagement.utils.CoarseClock;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.time.Duration;
+
+@Configuration
+public class WebConfig {
+
+    @Bean
+    public CoarseClock responseClock(@Value("${employee.response.timestamp-resolution:10ms}") Duration resolution){
+        return new CoarseClock(resolution);
+    }
+
+    //Replaces the JSON converter Spring Boot would register, it keeps using Boot's ObjectMapper
+    @Bean
+    public MappingJackson2HttpMessageConverter envelopeHttpMessageConverter(ObjectMapper objectMapper, CoarseClock responseClock){
+        return new EnvelopeHttpMessageConverter(objectMapper, responseClock);
+    }
+
+    //Binary formats for service to service calls that send Accept: application/cbor or application/x-jackson-smile.
+    //They replace Spring's own CBOR and Smile converters, which come after JSON, so */* still gets JSON.
+    //Boot's builder is a prototype, each mapper gets the same settings as the JSON one
+    @Bean
+    public MappingJackson2CborHttpMessageConverter envelopeCborHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder, CoarseClock responseClock){
+        return new EnvelopeCborHttpMessageConverter(objectMapperBuilder.factory(new CBORFactory()).build(), responseClock);
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter envelopeSmileHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder, CoarseClock responseClock){
+        return new EnvelopeSmileHttpMessageConverter(objectMapperBuilder.factory(new SmileFactory()).build(), responseClock);
+    }
+}
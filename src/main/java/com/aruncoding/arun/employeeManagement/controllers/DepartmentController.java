@@ -0,0 +1,68 @@
+package com.aruncoding.arun.employeeManagement.controllers;
+
+import com.aruncoding.arun.employeeManagement.dto.CursorPageDTO;
+import com.aruncoding.arun.employeeManagement.dto.DepartmentDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.services.DepartmentService;
+import com.aruncoding.arun.employeeManagement.services.EmployeeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+
+@RestController
+@RequestMapping(path = "/department")
+@Slf4j
+public class DepartmentController {
+
+    private final DepartmentService departmentService;
+
+    private final EmployeeService employeeService;
+
+    public DepartmentController(DepartmentService departmentService, EmployeeService employeeService) {
+        this.departmentService = departmentService;
+        this.employeeService = employeeService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<DepartmentDTO>> getAllDepartments() {
+        log.debug("Fetching All Departments");
+        return new ResponseEntity<>(departmentService.fetchAllDepartments(),HttpStatus.OK);
+    }
+
+    @GetMapping(path = "/{departmentId}")
+    public ResponseEntity<DepartmentDTO> getDepartmentById(@PathVariable Long departmentId) {
+        log.debug("Fetching Department By Id:{}",departmentId);
+        return new ResponseEntity<>(departmentService.fetchDepartmentById(departmentId),HttpStatus.OK);
+    }
+
+    //Paged with the same cursor as /employee
+    @GetMapping(path = "/{departmentId}/employees")
+    public ResponseEntity<CursorPageDTO<EmployeeDTO>> getEmployeesOfDepartment(@PathVariable Long departmentId,
+                                                                              @RequestParam(required = false) String cursor,
+                                                                              @RequestParam(required = false) Integer size) {
+        log.debug("Fetching Employees of Department:{} after cursor:{}",departmentId,cursor);
+        return new ResponseEntity<>(employeeService.fetchEmployeesByDepartment(departmentId,cursor,size),HttpStatus.OK);
+    }
+
+    @PostMapping
+    public ResponseEntity<DepartmentDTO> createDepartment(@RequestBody DepartmentDTO departmentDTO) {
+        log.debug("Creating Department with title:{}",departmentDTO.getTitle());
+        return new ResponseEntity<>(departmentService.saveDepartment(departmentDTO),HttpStatus.CREATED);
+    }
+
+    @PutMapping(path = "/{departmentId}")
+    public ResponseEntity<DepartmentDTO> updateDepartment(@RequestBody DepartmentDTO departmentDTO, @PathVariable Long departmentId) {
+        log.debug("Updating Department:{}",departmentId);
+        return new ResponseEntity<>(departmentService.updateDepartment(departmentId,departmentDTO),HttpStatus.OK);
+    }
+
+    @DeleteMapping(path = "/{departmentId}")
+    public ResponseEntity<Boolean> deleteDepartment(@PathVariable Long departmentId) {
+        log.debug("Deleting Department:{}",departmentId);
+        return new ResponseEntity<>(departmentService.deleteDepartment(departmentId),HttpStatus.OK);
+    }
+}
@@ -0,0 +1,48 @@
+package com.aruncoding.arun.employeeManagement.controllers;
+
+import com.aruncoding.arun.employeeManagement.dto.EmployeeChangesDTO;
+import com.aruncoding.arun.employeeManagement.exceptions.InvalidRequestException;
+import com.aruncoding.arun.employeeManagement.services.EmployeeChangeService;
+import com.aruncoding.arun.employeeManagement.services.implementation.EmployeeChangePublisher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+
+@RestController
+@RequestMapping(path = "/employee/changes")
+@Slf4j
+public class EmployeeChangeController {
+
+    private final EmployeeChangeService employeeChangeService;
+
+    private final EmployeeChangePublisher employeeChangePublisher;
+
+    public EmployeeChangeController(EmployeeChangeService employeeChangeService, EmployeeChangePublisher employeeChangePublisher) {
+        this.employeeChangeService = employeeChangeService;
+        this.employeeChangePublisher = employeeChangePublisher;
+    }
+
+    //Changes after the given sequence number in commit order, poll again with since=lastSequence of the response
+    @GetMapping
+    public ResponseEntity<EmployeeChangesDTO> getChanges(@RequestParam(required = false) Long since,
+                                                         @RequestParam(required = false) Integer limit) {
+        log.debug("Fetching Employee Changes since:{}",since);
+        return new ResponseEntity<>(employeeChangeService.fetchChanges(since,limit),HttpStatus.OK);
+    }
+
+    //Same feed pushed as server-sent events, resumes from Last-Event-ID when the client reconnects
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) Long since,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        long position = lastEventId != null ? lastEventId : since != null ? since : 0L;
+        if(position < 0) {
+            throw new InvalidRequestException("since must not be negative");
+        }
+        log.debug("Streaming Employee Changes since:{}",position);
+        return employeeChangePublisher.subscribe(position);
+    }
+}
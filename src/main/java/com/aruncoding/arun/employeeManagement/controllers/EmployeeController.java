@@ -1,12 +1,27 @@
 package com.aruncoding.arun.employeeManagement.controllers;
 
+import com.aruncoding.arun.employeeManagement.dto.CursorPageDTO;
+import com.aruncoding.arun.employeeManagement.dto.DepartmentStatsDTO;
 import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDetailsDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeSearchCriteria;
 import com.aruncoding.arun.employeeManagement.services.EmployeeService;
+import com.aruncoding.arun.employeeManagement.services.implementation.EmployeeWriteBatcher;
+import com.aruncoding.arun.employeeManagement.utils.EmployeeExportWriter;
+import com.aruncoding.arun.employeeManagement.utils.EntityTags;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
@@ -18,49 +33,163 @@ public class EmployeeController {
 
     private final EmployeeService employeeService;
 
-    public EmployeeController(EmployeeService employeeService) {
+    private final ObjectMapper objectMapper;
+
+    //Single-row POST and PATCH go through it, it commits them in groups when employee.write-batching.enabled is set
+    private final EmployeeWriteBatcher employeeWriteBatcher;
+
+    public EmployeeController(EmployeeService employeeService, ObjectMapper objectMapper, EmployeeWriteBatcher employeeWriteBatcher) {
         this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        this.employeeWriteBatcher = employeeWriteBatcher;
     }
 
     @GetMapping
-    public ResponseEntity<List<EmployeeDTO>> getAllEmployees() {
-        log.info("Fetching All Employees");
-        return new ResponseEntity<>(employeeService.fetchAllEmployees(),HttpStatus.OK);
+    public ResponseEntity<CursorPageDTO<EmployeeDTO>> getAllEmployees(@RequestParam(required = false) String cursor,
+                                                                     @RequestParam(required = false) Integer size) {
+        log.debug("Fetching Employees after cursor:{}",cursor);
+        return new ResponseEntity<>(employeeService.fetchAllEmployees(cursor,size),HttpStatus.OK);
+
+    }
+
+    @GetMapping(path = "/details")
+    public ResponseEntity<CursorPageDTO<EmployeeDetailsDTO>> getAllEmployeeDetails(@RequestParam(required = false) String cursor,
+                                                                                  @RequestParam(required = false) Integer size) {
+        log.debug("Fetching Employees with Department after cursor:{}",cursor);
+        return new ResponseEntity<>(employeeService.fetchAllEmployeeDetails(cursor,size),HttpStatus.OK);
+    }
+
+    //e.g. /employee/search?name=ar&minAge=25&maxSalary=5000&departmentId=2, paged with the same cursor as /employee
+    @GetMapping(path = "/search")
+    public ResponseEntity<CursorPageDTO<EmployeeDTO>> searchEmployees(EmployeeSearchCriteria criteria,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(required = false) Integer size) {
+        log.debug("Searching Employees with:{}",criteria);
+        return new ResponseEntity<>(employeeService.searchEmployees(criteria,cursor,size),HttpStatus.OK);
+    }
+
+    //Headcount, salary and age aggregates per department, computed by the database on every call
+    @GetMapping(path = "/stats")
+    public ResponseEntity<List<DepartmentStatsDTO>> getDepartmentStats() {
+        log.debug("Fetching Department Stats");
+        return new ResponseEntity<>(employeeService.fetchDepartmentStats(),HttpStatus.OK);
+    }
+
+    //Same aggregates read from the trigger maintained summary table, one row per department
+    @GetMapping(path = "/stats/summary")
+    public ResponseEntity<List<DepartmentStatsDTO>> getDepartmentStatsSummary() {
+        log.debug("Fetching Department Stats Summary");
+        return new ResponseEntity<>(employeeService.fetchDepartmentStatsSummary(),HttpStatus.OK);
+    }
+
+    //Writes one JSON document per line as rows are read, the full list is never held in memory
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees() {
+        log.debug("Streaming All Employees");
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                employeeService.streamAllEmployees(employeeDTO -> {
+                    try {
+                        generator.writeObject(employeeDTO);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
 
+    //Full table with departments as csv or ndjson, sent chunked while the database cursor is read
+    @GetMapping(path = "/export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(@RequestParam(defaultValue = "csv") String format) {
+        EmployeeExportWriter.Format exportFormat = EmployeeExportWriter.Format.from(format);
+        log.debug("Exporting All Employees as {}",exportFormat);
+        StreamingResponseBody body = outputStream -> {
+            try (EmployeeExportWriter writer = EmployeeExportWriter.create(exportFormat, outputStream, objectMapper)) {
+                employeeService.exportEmployees(employeeDetailsDTO -> {
+                    try {
+                        writer.write(employeeDetailsDTO);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.mediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(exportFormat.fileName()).build().toString())
+                .body(body);
     }
 
+    //The ETag is the row version. Spring answers a matching If-None-Match with 304 and no body
     @GetMapping(path = "/{employeeId}")
     public ResponseEntity<EmployeeDTO> getEmployeeById(@PathVariable Long employeeId) {
-        log.info("Fetching Employee By Id:{}",employeeId);
-        return new ResponseEntity<>(employeeService.fetchEmployeeById(employeeId),HttpStatus.OK);
+        log.debug("Fetching Employee By Id:{}",employeeId);
+        EmployeeDTO employeeDTO = employeeService.fetchEmployeeById(employeeId);
+        return ResponseEntity.ok().eTag(EntityTags.of(employeeDTO.getVersion())).body(employeeDTO);
 
     }
 
+    @GetMapping(path = "/{employeeId}/details")
+    public ResponseEntity<EmployeeDetailsDTO> getEmployeeDetailsById(@PathVariable Long employeeId) {
+        log.debug("Fetching Employee with Department By Id:{}",employeeId);
+        return new ResponseEntity<>(employeeService.fetchEmployeeDetailsById(employeeId),HttpStatus.OK);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public ResponseEntity<EmployeeDTO> createEmployee(@RequestBody EmployeeDTO employeeDTO) {
-        log.info("Creating Employee:{}",employeeDTO);
-        return new ResponseEntity<>(employeeService.saveEmployee(employeeDTO),HttpStatus.CREATED);
+        log.debug("Creating Employee with email:{}",employeeDTO.getEmail());
+        EmployeeDTO savedEmployee = employeeWriteBatcher.saveEmployee(employeeDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(EntityTags.of(savedEmployee.getVersion())).body(savedEmployee);
     }
 
+    //If-Match with the ETag from a GET makes the write fail with 412 when someone else changed the employee since
     @PutMapping(path = "/{employeeId}")
-    public ResponseEntity<EmployeeDTO> updateEmployee(@RequestBody EmployeeDTO employeeDTO, @PathVariable Long employeeId) {
-        log.info("Updating Employee:{}",employeeDTO);
-        return new ResponseEntity<>(employeeService.updateEmployee(employeeId,employeeDTO),HttpStatus.OK);
+    public ResponseEntity<EmployeeDTO> updateEmployee(@RequestBody EmployeeDTO employeeDTO, @PathVariable Long employeeId,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("Updating Employee:{}",employeeId);
+        EmployeeDTO updatedEmployee = employeeService.updateEmployee(employeeId,employeeDTO,EntityTags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(updatedEmployee.getVersion())).body(updatedEmployee);
     }
 
+    //Same If-Match check as PUT and PATCH, a stale ETag gets 412 and the employee stays
     @DeleteMapping(path = "/{employeeId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public ResponseEntity<Boolean> deleteEmployee(@PathVariable Long employeeId) {
-        log.info("Deleting Employee:{}",employeeId);
-        Boolean flag = employeeService.deleteEmployee(employeeId);
+    public ResponseEntity<Boolean> deleteEmployee(@PathVariable Long employeeId,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("Deleting Employee:{}",employeeId);
+        Boolean flag = employeeService.deleteEmployee(employeeId,EntityTags.expectedVersion(ifMatch));
         return ResponseEntity.ok(flag);
     }
 
     @PatchMapping(path = "/{employeeId}")
-    public ResponseEntity<EmployeeDTO> patchEmployee(@RequestBody Map<String,Object> updates, @PathVariable Long employeeId) {
-        log.info("Updating Employee Partially:{}",updates);
+    public ResponseEntity<EmployeeDTO> patchEmployee(@RequestBody Map<String,Object> updates, @PathVariable Long employeeId,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("Updating Employee Partially:{}, fields:{}",employeeId,updates.keySet());
         //return employeeService.patchEmployeeDetails(employeeId,updates);
-        return new ResponseEntity<>(employeeService.patchEmployeeDetails(employeeId,updates),HttpStatus.OK);
+        EmployeeDTO patchedEmployee = employeeWriteBatcher.patchEmployeeDetails(employeeId,updates,EntityTags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(patchedEmployee.getVersion())).body(patchedEmployee);
+    }
+
+    @PostMapping(path = "/bulk")
+    public ResponseEntity<List<EmployeeDTO>> createEmployees(@RequestBody List<EmployeeDTO> employeeDTOs) {
+        log.debug("Creating {} Employees",employeeDTOs.size());
+        return new ResponseEntity<>(employeeService.saveEmployees(employeeDTOs),HttpStatus.CREATED);
+    }
+
+    @PutMapping(path = "/bulk")
+    public ResponseEntity<List<EmployeeDTO>> upsertEmployees(@RequestBody List<EmployeeDTO> employeeDTOs) {
+        log.debug("Upserting {} Employees",employeeDTOs.size());
+        return new ResponseEntity<>(employeeService.upsertEmployees(employeeDTOs),HttpStatus.OK);
+    }
+
+    @DeleteMapping(path = "/bulk")
+    public ResponseEntity<Integer> deleteEmployees(@RequestParam List<Long> ids) {
+        log.debug("Deleting {} Employees",ids.size());
+        return ResponseEntity.ok(employeeService.deleteEmployees(ids));
     }
 }
@@ -0,0 +1,37 @@
+package com.aruncoding.arun.employeeManagement.controllers;
+
+import com.aruncoding.arun.employeeManagement.dto.ImportJobDTO;
+import com.aruncoding.arun.employeeManagement.services.EmployeeImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+
+@RestController
+@RequestMapping(path = "/employee/import")
+@Slf4j
+public class EmployeeImportController {
+
+    private final EmployeeImportService employeeImportService;
+
+    public EmployeeImportController(EmployeeImportService employeeImportService) {
+        this.employeeImportService = employeeImportService;
+    }
+
+    //CSV with a header row holding at least name,email,age (salary optional), e.g. a file from GET /employee/export.
+    //Returns at once with the job id, progress and row errors are read from GET /employee/import/{jobId}
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobDTO> importEmployees(@RequestParam("file") MultipartFile file) {
+        log.debug("Importing Employees from file:{}",file.getOriginalFilename());
+        return new ResponseEntity<>(employeeImportService.startImport(file),HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping(path = "/{jobId}")
+    public ResponseEntity<ImportJobDTO> getImportJob(@PathVariable String jobId) {
+        log.debug("Fetching Import Job:{}",jobId);
+        return new ResponseEntity<>(employeeImportService.fetchImportJob(jobId),HttpStatus.OK);
+    }
+}
@@ -0,0 +1,81 @@
+package com.aruncoding.arun.employeeManagement.controllers;
+
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDetailsDTO;
+import com.aruncoding.arun.employeeManagement.services.ReactiveEmployeeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+
+/**
+ * Same operations as EmployeeController backed by R2DBC. The servlet thread is released as soon as a
+ * Mono or Flux is returned and the response is completed when the database answers.
+ */
+@RestController
+@RequestMapping(path = "/reactive/employee")
+@Slf4j
+public class ReactiveEmployeeController {
+
+    private final ReactiveEmployeeService reactiveEmployeeService;
+
+    public ReactiveEmployeeController(ReactiveEmployeeService reactiveEmployeeService) {
+        this.reactiveEmployeeService = reactiveEmployeeService;
+    }
+
+    //As NDJSON every row is written when it arrives and the client's reading pace throttles the query,
+    //as plain JSON the rows are collected into one array first
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<EmployeeDTO> getAllEmployees() {
+        log.debug("Fetching All Employees Reactively");
+        return reactiveEmployeeService.fetchAllEmployees();
+    }
+
+    @GetMapping(path = "/{employeeId}")
+    public Mono<ResponseEntity<EmployeeDTO>> getEmployeeById(@PathVariable Long employeeId) {
+        log.debug("Fetching Employee Reactively By Id:{}",employeeId);
+        return reactiveEmployeeService.fetchEmployeeById(employeeId)
+                .map(employeeDTO -> new ResponseEntity<>(employeeDTO, HttpStatus.OK));
+    }
+
+    @GetMapping(path = "/{employeeId}/details")
+    public Mono<ResponseEntity<EmployeeDetailsDTO>> getEmployeeDetailsById(@PathVariable Long employeeId) {
+        log.debug("Fetching Employee Reactively with Department By Id:{}",employeeId);
+        return reactiveEmployeeService.fetchEmployeeDetailsById(employeeId)
+                .map(employeeDetailsDTO -> new ResponseEntity<>(employeeDetailsDTO, HttpStatus.OK));
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<EmployeeDTO>> createEmployee(@RequestBody EmployeeDTO employeeDTO) {
+        log.debug("Creating Employee Reactively with email:{}",employeeDTO.getEmail());
+        return reactiveEmployeeService.saveEmployee(employeeDTO)
+                .map(savedEmployee -> new ResponseEntity<>(savedEmployee, HttpStatus.CREATED));
+    }
+
+    @PutMapping(path = "/{employeeId}")
+    public Mono<ResponseEntity<EmployeeDTO>> updateEmployee(@RequestBody EmployeeDTO employeeDTO, @PathVariable Long employeeId) {
+        log.debug("Updating Employee Reactively:{}",employeeId);
+        return reactiveEmployeeService.updateEmployee(employeeId, employeeDTO)
+                .map(updatedEmployee -> new ResponseEntity<>(updatedEmployee, HttpStatus.OK));
+    }
+
+    @DeleteMapping(path = "/{employeeId}")
+    public Mono<ResponseEntity<Boolean>> deleteEmployee(@PathVariable Long employeeId) {
+        log.debug("Deleting Employee Reactively:{}",employeeId);
+        return reactiveEmployeeService.deleteEmployee(employeeId)
+                .map(ResponseEntity::ok);
+    }
+
+    @PatchMapping(path = "/{employeeId}")
+    public Mono<ResponseEntity<EmployeeDTO>> patchEmployee(@RequestBody Map<String,Object> updates, @PathVariable Long employeeId) {
+        log.debug("Updating Employee Reactively Partially:{}, fields:{}",employeeId,updates.keySet());
+        return reactiveEmployeeService.patchEmployeeDetails(employeeId, updates)
+                .map(patchedEmployee -> new ResponseEntity<>(patchedEmployee, HttpStatus.OK));
+    }
+}
@@ -0,0 +1,18 @@
+package com.aruncoding.arun.employeeManagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AgeDistributionDTO {
+
+    private long under30;
+    private long from30To39;
+    private long from40To49;
+    private long from50;
+}
@@ -0,0 +1,22 @@
+package com.aruncoding.arun.employeeManagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CursorPageDTO<T> {
+
+    private List<T> content;
+
+    private int size;
+
+    //Opaque token to pass back as cursor for the next page, null when this is the last page
+    private String nextCursor;
+}
@@ -0,0 +1,16 @@
+package com.aruncoding.arun.employeeManagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DepartmentDTO {
+
+    private Long id;
+    private String title;
+}
@@ -0,0 +1,36 @@
+package com.aruncoding.arun.employeeManagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Aggregates of one department, departmentId null for employees without one. The summary endpoint
+//has no min, max or percentiles, those are left out of its JSON
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DepartmentStatsDTO {
+
+    private Long departmentId;
+    private String departmentTitle;
+    private long headcount;
+    private Double averageSalary;
+    private Double minSalary;
+    private Double maxSalary;
+    private Double medianSalary;
+    private Double p90Salary;
+    private Double averageAge;
+    private AgeDistributionDTO ageDistribution;
+
+    //Used by the JPQL constructor expression in EmployeeRepository, percentiles are filled in afterwards
+    public DepartmentStatsDTO(Long departmentId, String departmentTitle, Long headcount, Double averageSalary,
+                              Double minSalary, Double maxSalary, Double averageAge,
+                              Long under30, Long from30To39, Long from40To49, Long from50) {
+        this(departmentId, departmentTitle, headcount, averageSalary, minSalary, maxSalary, null, null, averageAge,
+                new AgeDistributionDTO(under30, from30To39, from40To49, from50));
+    }
+}
@@ -0,0 +1,24 @@
+package com.aruncoding.arun.employeeManagement.dto;
+
+import com.aruncoding.arun.employeeManagement.entities.EmployeeChange;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+//One entry of the change feed, employee is the state after the write and null for deletes
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EmployeeChangeDTO {
+
+    private long sequence;
+    private Long employeeId;
+    private EmployeeChange.ChangeType type;
+    private Long version;
+    private LocalDateTime changedAt;
+    private EmployeeDTO employee;
+}
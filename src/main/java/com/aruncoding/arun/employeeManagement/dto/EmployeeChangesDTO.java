@@ -0,0 +1,20 @@
+package com.aruncoding.arun.employeeManagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+//lastSequence is the since value of the next poll, it stays the same when there is nothing new
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EmployeeChangesDTO {
+
+    private List<EmployeeChangeDTO> changes;
+    private long lastSequence;
+    private boolean hasMore;
+}
@@ -1,6 +1,7 @@
 package com.aruncoding.arun.employeeManagement.dto;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,8 +13,27 @@ import lombok.NoArgsConstructor;
 @Builder
 public class EmployeeDTO {
 
+    //Only needed to build the next page cursor, never read from or written to the API
+    @JsonIgnore
+    private Long id;
     private String name;
     private String email;
     private int age;
     private Double salary;
+    //Assigns the department on POST and PUT, null for none
+    private Long departmentId;
+    //Read only, filled from the in-memory DepartmentCache instead of a join
+    private String departmentTitle;
+    //Sent as the ETag header, not part of the body
+    @JsonIgnore
+    private Long version;
+
+    public EmployeeDTO(Long id, String name, String email, int age, Double salary) {
+        this(id, name, email, age, salary, null, null, null);
+    }
+
+    //Used by the JPQL constructor expressions in EmployeeRepository, the title is filled in afterwards
+    public EmployeeDTO(Long id, String name, String email, int age, Double salary, Long version, Long departmentId) {
+        this(id, name, email, age, salary, departmentId, null, version);
+    }
 }
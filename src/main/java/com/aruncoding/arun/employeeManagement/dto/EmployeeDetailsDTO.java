@@ -0,0 +1,29 @@
+package com.aruncoding.arun.employeeManagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//EmployeeDTO plus its department, only returned by the endpoints that ask for the department
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EmployeeDetailsDTO {
+
+    //Only needed to build the next page cursor
+    @JsonIgnore
+    private Long id;
+    private String name;
+    private String email;
+    private int age;
+    private Double salary;
+    private DepartmentDTO department;
+
+    //Used by the JPQL constructor expression in EmployeeRepository, which can not build the nested DepartmentDTO itself
+    public EmployeeDetailsDTO(Long id, String name, String email, int age, Double salary, Long departmentId, String departmentTitle) {
+        this(id, name, email, age, salary, departmentId == null ? null : new DepartmentDTO(departmentId, departmentTitle));
+    }
+}
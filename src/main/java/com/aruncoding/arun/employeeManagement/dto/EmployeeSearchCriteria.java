@@ -0,0 +1,24 @@
+package com.aruncoding.arun.employeeManagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Query parameters of GET /employee/search, every field is optional and the given ones are combined with AND
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EmployeeSearchCriteria {
+
+    //Name prefix, or with fuzzy=true names that sound alike (SOUNDEX)
+    private String name;
+    private boolean fuzzy;
+    private String email;
+    private Integer minAge;
+    private Integer maxAge;
+    private Double minSalary;
+    private Double maxSalary;
+    private Long departmentId;
+}
@@ -0,0 +1,30 @@
+package com.aruncoding.arun.employeeManagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+//Snapshot of an import job, errors holds at most employee.import.max-reported-errors entries while failedRows counts all
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ImportJobDTO {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private String jobId;
+    private String fileName;
+    private Status status;
+    private long processedRows;
+    private long importedRows;
+    private long failedRows;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String failureReason;
+    private List<ImportRowErrorDTO> errors;
+}
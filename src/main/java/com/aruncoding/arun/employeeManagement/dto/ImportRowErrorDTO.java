@@ -0,0 +1,18 @@
+package com.aruncoding.arun.employeeManagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//row is the data row number in the file, the header not counted
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ImportRowErrorDTO {
+
+    private long row;
+    private String email;
+    private String message;
+}
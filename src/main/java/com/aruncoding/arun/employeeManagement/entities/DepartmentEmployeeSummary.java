@@ -0,0 +1,49 @@
+package com.aruncoding.arun.employeeManagement.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+//Maintained by database triggers on employee (V8 migration), never written by the application.
+//Creating them needs SUPER or log_bin_trust_function_creators=1 on MySQL with binary logging, see application-prod.properties
+@Entity
+@Immutable
+@Table(name = "department_employee_summary")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DepartmentEmployeeSummary {
+
+    //0 for employees without a department
+    public static final long NO_DEPARTMENT = 0L;
+
+    @Id
+    private Long departmentId;
+
+    private long headcount;
+
+    private long salaryCount;
+
+    private double salaryTotal;
+
+    private long ageTotal;
+
+    @Column(name = "age_under_30")
+    private long ageUnder30;
+
+    @Column(name = "age_30_to_39")
+    private long age30To39;
+
+    @Column(name = "age_40_to_49")
+    private long age40To49;
+
+    @Column(name = "age_50_plus")
+    private long age50Plus;
+}
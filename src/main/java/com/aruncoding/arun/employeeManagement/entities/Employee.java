@@ -2,20 +2,32 @@ package com.aruncoding.arun.employeeManagement.entities;
 
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.*;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = Employee.UNIQUE_EMAIL_CONSTRAINT, columnNames = "email"),
+        //Search indexes, see V7 migration (the SOUNDEX functional index only exists there)
+        indexes = {
+                @Index(name = "ix_employee_name", columnList = "name"),
+                @Index(name = "ix_employee_age", columnList = "age"),
+                @Index(name = "ix_employee_salary", columnList = "salary"),
+                @Index(name = "ix_employee_department_id", columnList = "department_id, id")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Employee {
 
+    public static final String UNIQUE_EMAIL_CONSTRAINT = "uk_employee_email";
+
+    //Named in V3, kept lower case like the unique constraint so ConstraintViolations can match it
+    public static final String DEPARTMENT_FOREIGN_KEY = "fk_unique";
+
+    //Pooled sequence (a table on MySQL) instead of IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employee_seq", allocationSize = 50)
     private Long id;
 
     private String name;
@@ -26,7 +38,15 @@ public class Employee {
 
     private Double salary;
 
-    @ManyToOne
+    //Bumped by every update, a write based on an older copy fails instead of overwriting a concurrent change
+    @Version
+    private Long version;
+
+    //Lazy so plain employee reads never join or select the department, use the fetch queries in EmployeeRepository when it is needed
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "department_id", foreignKey = @ForeignKey(name = Employee.DEPARTMENT_FOREIGN_KEY))
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Department department;
 
 }
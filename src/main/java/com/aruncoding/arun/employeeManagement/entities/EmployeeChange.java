@@ -0,0 +1,52 @@
+package com.aruncoding.arun.employeeManagement.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+//Outbox row of one employee write (V10 migration), id is the sequence number of the change feed.
+//Inserted by EmployeeChangeServiceImpl in one JDBC batch per transaction, JPA only reads and purges it
+@Entity
+@Table(name = "employee_change", indexes = @Index(name = "ix_employee_change_changed_at", columnList = "changed_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeChange {
+
+    public enum ChangeType { CREATED, UPDATED, DELETED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long employeeId;
+
+    //Plain VARCHAR as in V10, not the native enum type Hibernate would pick, so R2DBC can write it as a string
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
+    private ChangeType changeType;
+
+    private Long version;
+
+    private String name;
+
+    private String email;
+
+    private Integer age;
+
+    private Double salary;
+
+    private Long departmentId;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+}
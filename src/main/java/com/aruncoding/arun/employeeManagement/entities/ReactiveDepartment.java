@@ -0,0 +1,22 @@
+package com.aruncoding.arun.employeeManagement.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+//R2DBC view of the department table used by the reactive API
+@Table("department")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReactiveDepartment {
+
+    @Id
+    private Long id;
+
+    private String dptTitle;
+}
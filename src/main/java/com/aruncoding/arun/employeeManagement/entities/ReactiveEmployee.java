@@ -0,0 +1,35 @@
+package com.aruncoding.arun.employeeManagement.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+//R2DBC view of the employee table used by the reactive API, Employee stays the JPA mapping of the same rows
+@Table("employee")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReactiveEmployee {
+
+    @Id
+    private Long id;
+
+    private String name;
+
+    private String email;
+
+    private int age;
+
+    private Double salary;
+
+    private Long departmentId;
+
+    //Same column as Employee.version, so reactive writes invalidate ETags handed out by the MVC API
+    @Version
+    private Long version;
+}
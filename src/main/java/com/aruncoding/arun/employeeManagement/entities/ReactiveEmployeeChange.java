@@ -0,0 +1,40 @@
+package com.aruncoding.arun.employeeManagement.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+//R2DBC view of the employee_change outbox, the reactive writes record the same rows as EmployeeChangeService
+@Table("employee_change")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReactiveEmployeeChange {
+
+    @Id
+    private Long id;
+
+    private Long employeeId;
+
+    private EmployeeChange.ChangeType changeType;
+
+    private Long version;
+
+    private String name;
+
+    private String email;
+
+    private Integer age;
+
+    private Double salary;
+
+    private Long departmentId;
+
+    private LocalDateTime changedAt;
+}
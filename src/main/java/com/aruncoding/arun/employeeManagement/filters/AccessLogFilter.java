@@ -0,0 +1,99 @@
+package com.aruncoding.arun.employeeManagement.filters;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One structured line per request on the employee.access logger, e.g.
+ * method=GET path=/employee/1 status=200 durationMs=3.41
+ * With a sample-rate below 1 only that share of requests is logged, server errors are always logged.
+ * Async and streaming responses are logged when they complete, not when the servlet thread returns.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.access-log.enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private final Logger accessLog;
+
+    private final double sampleRate;
+
+    @Autowired
+    public AccessLogFilter(@Value("${employee.access-log.sample-rate:1.0}") double sampleRate) {
+        this(LoggerFactory.getLogger("employee.access"), sampleRate);
+    }
+
+    AccessLogFilter(Logger accessLog, double sampleRate) {
+        this.accessLog = accessLog;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        //Scrapes and health checks would drown the requests that matter
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!accessLog.isInfoEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        boolean sampled = sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        log(request, response.getStatus(), start, sampled);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                //An exception escaping the chain ends up as a 500 even though the status is not set yet
+                log(request, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(), start, sampled);
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, int status, long start, boolean sampled) {
+        if (!sampled && status < HttpServletResponse.SC_INTERNAL_SERVER_ERROR) {
+            return;
+        }
+        double durationMs = (System.nanoTime() - start) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        accessLog.info("method={} path={} status={} durationMs={}",
+                request.getMethod(), request.getRequestURI(), status, String.format("%.2f", durationMs));
+    }
+}
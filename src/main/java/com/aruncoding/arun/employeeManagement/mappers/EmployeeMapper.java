@@ -0,0 +1,25 @@
+package com.aruncoding.arun.employeeManagement.mappers;
+
+import com.aruncoding.arun.employeeManagement.dto.DepartmentDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDetailsDTO;
+import com.aruncoding.arun.employeeManagement.entities.Department;
+import com.aruncoding.arun.employeeManagement.entities.Employee;
+
+/**
+ * Converts between entities and DTOs. The implementation is chosen with the
+ * {@code employee.mapper} property, see {@link com.aruncoding.arun.employeeManagement.configs.AppConfig}.
+ */
+public interface EmployeeMapper {
+
+    EmployeeDTO toDTO(Employee employee);
+
+    Employee toEntity(EmployeeDTO employeeDTO);
+
+    //Reads employee.department, so the department has to be fetched with the employee
+    EmployeeDetailsDTO toDetailsDTO(Employee employee);
+
+    DepartmentDTO toDTO(Department department);
+
+    Department toEntity(DepartmentDTO departmentDTO);
+}
@@ -0,0 +1,39 @@
+package com.aruncoding.arun.employeeManagement.mappers;
+
+import com.aruncoding.arun.employeeManagement.dto.DepartmentDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDetailsDTO;
+import com.aruncoding.arun.employeeManagement.entities.Department;
+import com.aruncoding.arun.employeeManagement.entities.Employee;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * MapStruct generates plain getter/setter code for this at compile time, so mapping a row costs
+ * one allocation for the target and no reflection.
+ */
+@Mapper
+public interface GeneratedEmployeeMapper extends EmployeeMapper {
+
+    //department.id is the foreign key, reading it does not initialize a lazy department
+    @Override
+    @Mapping(target = "departmentId", source = "department.id")
+    @Mapping(target = "departmentTitle", ignore = true)
+    EmployeeDTO toDTO(Employee employee);
+
+    @Override
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "department", ignore = true)
+    Employee toEntity(EmployeeDTO employeeDTO);
+
+    @Override
+    EmployeeDetailsDTO toDetailsDTO(Employee employee);
+
+    @Override
+    @Mapping(target = "title", source = "dptTitle")
+    DepartmentDTO toDTO(Department department);
+
+    @Override
+    @Mapping(target = "dptTitle", source = "title")
+    Department toEntity(DepartmentDTO departmentDTO);
+}
@@ -0,0 +1,57 @@
+package com.aruncoding.arun.employeeManagement.mappers;
+
+import com.aruncoding.arun.employeeManagement.dto.DepartmentDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDetailsDTO;
+import com.aruncoding.arun.employeeManagement.entities.Department;
+import com.aruncoding.arun.employeeManagement.entities.Employee;
+import org.modelmapper.ModelMapper;
+
+/**
+ * Reflection based fallback, kept for switching back with {@code employee.mapper=modelmapper}.
+ */
+public class ModelMapperEmployeeMapper implements EmployeeMapper {
+
+    private final ModelMapper modelMapper;
+
+    public ModelMapperEmployeeMapper(ModelMapper modelMapper) {
+        this.modelMapper = modelMapper;
+        this.modelMapper.typeMap(Department.class, DepartmentDTO.class)
+                .addMapping(Department::getDptTitle, DepartmentDTO::setTitle);
+        this.modelMapper.typeMap(DepartmentDTO.class, Department.class)
+                .addMapping(DepartmentDTO::getTitle, Department::setDptTitle);
+        //Same as GeneratedEmployeeMapper: only the department id, the department itself is set by the service
+        //Skips have to be registered before the implicit mappings, which would map department.id and department.dptTitle
+        this.modelMapper.emptyTypeMap(Employee.class, EmployeeDTO.class)
+                .addMappings(mapping -> mapping.skip(EmployeeDTO::setDepartmentTitle))
+                .implicitMappings();
+        this.modelMapper.emptyTypeMap(EmployeeDTO.class, Employee.class)
+                .addMappings(mapping -> mapping.skip(Employee::setDepartment))
+                .implicitMappings();
+    }
+
+    @Override
+    public EmployeeDTO toDTO(Employee employee) {
+        return employee == null ? null : modelMapper.map(employee, EmployeeDTO.class);
+    }
+
+    @Override
+    public Employee toEntity(EmployeeDTO employeeDTO) {
+        return employeeDTO == null ? null : modelMapper.map(employeeDTO, Employee.class);
+    }
+
+    @Override
+    public EmployeeDetailsDTO toDetailsDTO(Employee employee) {
+        return employee == null ? null : modelMapper.map(employee, EmployeeDetailsDTO.class);
+    }
+
+    @Override
+    public DepartmentDTO toDTO(Department department) {
+        return department == null ? null : modelMapper.map(department, DepartmentDTO.class);
+    }
+
+    @Override
+    public Department toEntity(DepartmentDTO departmentDTO) {
+        return departmentDTO == null ? null : modelMapper.map(departmentDTO, Department.class);
+    }
+}
@@ -0,0 +1,24 @@
+package com.aruncoding.arun.employeeManagement.mappers;
+
+import com.aruncoding.arun.employeeManagement.dto.DepartmentDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.entities.ReactiveDepartment;
+import com.aruncoding.arun.employeeManagement.entities.ReactiveEmployee;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+//Mapping for the R2DBC entities, same DTOs as EmployeeMapper so both APIs return identical bodies.
+//departmentTitle is not a column, ReactiveEmployeeServiceImpl fills it from DepartmentCache like EmployeeServiceImpl does
+@Mapper
+public interface ReactiveEmployeeMapper {
+
+    @Mapping(target = "departmentTitle", ignore = true)
+    EmployeeDTO toDTO(ReactiveEmployee employee);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    ReactiveEmployee toEntity(EmployeeDTO employeeDTO);
+
+    @Mapping(target = "title", source = "dptTitle")
+    DepartmentDTO toDTO(ReactiveDepartment department);
+}
@@ -0,0 +1,24 @@
+package com.aruncoding.arun.employeeManagement.repositories;
+
+import com.aruncoding.arun.employeeManagement.entities.DepartmentEmployeeSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DepartmentEmployeeSummaryRepository extends JpaRepository<DepartmentEmployeeSummary, Long> {
+
+    //Departments left without employees keep a zero row, those are skipped
+    @Query("select s as summary, d.dptTitle as departmentTitle from DepartmentEmployeeSummary s " +
+            "left join Department d on d.id = s.departmentId where s.headcount > 0 order by s.departmentId")
+    List<SummaryWithTitle> findAllWithTitle();
+
+    interface SummaryWithTitle {
+
+        DepartmentEmployeeSummary getSummary();
+
+        String getDepartmentTitle();
+    }
+}
@@ -0,0 +1,9 @@
+package com.aruncoding.arun.employeeManagement.repositories;
+
+import com.aruncoding.arun.employeeManagement.entities.Department;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DepartmentRepository extends JpaRepository<Department, Long> {
+}
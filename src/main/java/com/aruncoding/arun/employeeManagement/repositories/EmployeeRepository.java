@@ -1,12 +1,93 @@
 package com.aruncoding.arun.employeeManagement.repositories;
 
+import com.aruncoding.arun.employeeManagement.dto.DepartmentStatsDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDetailsDTO;
 import com.aruncoding.arun.employeeManagement.entities.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee,Long> {
-    Optional<Employee> findByEmail(String email);
+public interface EmployeeRepository extends JpaRepository<Employee,Long>, EmployeeSearchRepository {
+    //Keyset pages as DTO projections: seek on the primary key index instead of using OFFSET, and rows go straight
+    //into EmployeeDTO, no managed entity or snapshot is created.
+    //Declared queries get no transaction from SimpleJpaRepository, these two are called outside one by the
+    //coalesced reads in EmployeeServiceImpl, so they open their own read-only transaction to reach a replica
+    @Transactional(readOnly = true)
+    @Query("select new com.aruncoding.arun.employeeManagement.dto.EmployeeDTO(e.id, e.name, e.email, e.age, e.salary, e.version, e.department.id) " +
+            "from Employee e where e.id = :id")
+    Optional<EmployeeDTO> findDTOById(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @Query("select new com.aruncoding.arun.employeeManagement.dto.EmployeeDTO(e.id, e.name, e.email, e.age, e.salary, e.version, e.department.id) " +
+            "from Employee e where e.id > :id order by e.id")
+    List<EmployeeDTO> findDTOsByIdGreaterThan(@Param("id") Long id, Limit limit);
+
+    //Keyset page of one department, seeks on ix_employee_department_id (department_id, id)
+    @Query("select new com.aruncoding.arun.employeeManagement.dto.EmployeeDTO(e.id, e.name, e.email, e.age, e.salary, e.version, e.department.id) " +
+            "from Employee e where e.department.id = :departmentId and e.id > :id order by e.id")
+    List<EmployeeDTO> findDTOsByDepartmentIdAndIdGreaterThan(@Param("departmentId") Long departmentId, @Param("id") Long id, Limit limit);
+
+    @EntityGraph(attributePaths = "department")
+    @Query("select e from Employee e where e.id = :id")
+    Optional<Employee> findWithDepartmentById(@Param("id") Long id);
+
+    //Reads only the columns EmployeeDetailsDTO returns, department joined in the same statement
+    @Query("select new com.aruncoding.arun.employeeManagement.dto.EmployeeDetailsDTO(e.id, e.name, e.email, e.age, e.salary, d.id, d.dptTitle) " +
+            "from Employee e left join e.department d where e.id > :id order by e.id")
+    List<EmployeeDetailsDTO> findDetailsByIdGreaterThan(@Param("id") Long id, Limit limit);
+
+    //Forward-only cursor over the whole table, must be consumed inside a transaction and closed.
+    //The fetch size only streams on MySQL with useCursorFetch=true on the JDBC url
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.aruncoding.arun.employeeManagement.dto.EmployeeDetailsDTO(e.id, e.name, e.email, e.age, e.salary, d.id, d.dptTitle) " +
+            "from Employee e left join e.department d order by e.id")
+    Stream<EmployeeDetailsDTO> streamAllDetails();
+
+    List<Employee> findByEmailIn(Collection<String> emails);
+
+    @Query("select e.email from Employee e where e.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    //One row per department computed by the database, employees without a department grouped under a null id
+    @Query("select new com.aruncoding.arun.employeeManagement.dto.DepartmentStatsDTO(d.id, d.dptTitle, count(e), " +
+            "avg(e.salary), min(e.salary), max(e.salary), avg(e.age), " +
+            "sum(case when e.age < 30 then 1 else 0 end), " +
+            "sum(case when e.age >= 30 and e.age < 40 then 1 else 0 end), " +
+            "sum(case when e.age >= 40 and e.age < 50 then 1 else 0 end), " +
+            "sum(case when e.age >= 50 then 1 else 0 end)) " +
+            "from Employee e left join e.department d group by d.id, d.dptTitle order by d.id")
+    List<DepartmentStatsDTO> findDepartmentStats();
+
+    //Nearest-rank median and 90th percentile of salary per department, window functions keep it to one scan
+    @Query(value = "select department_id as departmentId, " +
+            "max(case when rn = ceil(0.5 * cnt) then salary end) as medianSalary, " +
+            "max(case when rn = ceil(0.9 * cnt) then salary end) as p90Salary " +
+            "from (select department_id, salary, " +
+            "row_number() over (partition by department_id order by salary) as rn, " +
+            "count(*) over (partition by department_id) as cnt " +
+            "from employee where salary is not null) ranked " +
+            "group by department_id", nativeQuery = true)
+    List<SalaryPercentiles> findSalaryPercentiles();
+
+    @Query("select e.id from Employee e where e.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from Employee e where e.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
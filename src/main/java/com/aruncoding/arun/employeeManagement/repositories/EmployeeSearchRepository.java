@@ -0,0 +1,14 @@
+package com.aruncoding.arun.employeeManagement.repositories;
+
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeSearchCriteria;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+//Fragment of EmployeeRepository for queries whose predicates depend on the request
+public interface EmployeeSearchRepository {
+
+    //Keyset page of employees matching the criteria with an id above afterId, ordered by id
+    List<EmployeeDTO> searchDTOs(EmployeeSearchCriteria criteria, Long afterId, Limit limit);
+}
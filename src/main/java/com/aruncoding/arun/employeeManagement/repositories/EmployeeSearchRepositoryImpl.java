@@ -0,0 +1,78 @@
+package com.aruncoding.arun.employeeManagement.repositories;
+
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeSearchCriteria;
+import com.aruncoding.arun.employeeManagement.entities.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Only the given criteria become predicates, so every query stays a plain indexed seek (see the V7
+ * migration). Predicates are written so MySQL can use those indexes: a prefix LIKE instead of a
+ * contains, SOUNDEX(name) exactly as in the functional index, and no functions around other columns.
+ */
+public class EmployeeSearchRepositoryImpl implements EmployeeSearchRepository {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<EmployeeDTO> searchDTOs(EmployeeSearchCriteria criteria, Long afterId, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeDTO> query = cb.createQuery(EmployeeDTO.class);
+        Root<Employee> employee = query.from(Employee.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.greaterThan(employee.get("id"), afterId));
+        if (criteria.getName() != null && !criteria.getName().isBlank()) {
+            if (criteria.isFuzzy()) {
+                predicates.add(cb.equal(cb.function("soundex", String.class, employee.get("name")),
+                        cb.function("soundex", String.class, cb.literal(criteria.getName()))));
+            } else {
+                predicates.add(cb.like(employee.get("name"), escapeLike(criteria.getName()) + "%", LIKE_ESCAPE));
+            }
+        }
+        if (criteria.getEmail() != null && !criteria.getEmail().isBlank()) {
+            predicates.add(cb.equal(employee.get("email"), criteria.getEmail()));
+        }
+        if (criteria.getMinAge() != null) {
+            predicates.add(cb.ge(employee.get("age"), criteria.getMinAge()));
+        }
+        if (criteria.getMaxAge() != null) {
+            predicates.add(cb.le(employee.get("age"), criteria.getMaxAge()));
+        }
+        if (criteria.getMinSalary() != null) {
+            predicates.add(cb.ge(employee.get("salary"), criteria.getMinSalary()));
+        }
+        if (criteria.getMaxSalary() != null) {
+            predicates.add(cb.le(employee.get("salary"), criteria.getMaxSalary()));
+        }
+        if (criteria.getDepartmentId() != null) {
+            //Compares the foreign key column, no join with department
+            predicates.add(cb.equal(employee.get("department").get("id"), criteria.getDepartmentId()));
+        }
+
+        query.select(cb.construct(EmployeeDTO.class, employee.get("id"), employee.get("name"),
+                        employee.get("email"), employee.get("age"), employee.get("salary"), employee.get("version"),
+                        employee.get("department").get("id")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(employee.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit.max())
+                .getResultList();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
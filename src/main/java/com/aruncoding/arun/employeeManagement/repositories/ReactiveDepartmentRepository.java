@@ -0,0 +1,9 @@
+package com.aruncoding.arun.employeeManagement.repositories;
+
+import com.aruncoding.arun.employeeManagement.entities.ReactiveDepartment;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReactiveDepartmentRepository extends R2dbcRepository<ReactiveDepartment, Long> {
+}
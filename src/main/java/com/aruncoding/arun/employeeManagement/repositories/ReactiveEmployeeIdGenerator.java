@@ -0,0 +1,75 @@
+package com.aruncoding.arun.employeeManagement.repositories;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+/**
+ * Hands out employee ids from the same employee_seq the JPA side uses, with Hibernate's pooled
+ * semantics: reading value v reserves the ids v - 49 .. v. Both APIs can then insert side by side
+ * without ever picking the same id, and only one database round trip is paid per 50 inserts.
+ */
+@Component
+public class ReactiveEmployeeIdGenerator {
+
+    //Must match the allocationSize of the employee_seq generator on Employee
+    static final int ALLOCATION_SIZE = 50;
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    //MySQL has no sequences, V5 migration emulates employee_seq with a table; H2 gets a real sequence
+    private final boolean nativeSequence;
+
+    //Both guarded by this
+    private long next;
+    private long hi = -1;
+
+    public ReactiveEmployeeIdGenerator(DatabaseClient databaseClient, TransactionalOperator reactiveTransactionalOperator,
+                                       ConnectionFactory connectionFactory) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = reactiveTransactionalOperator;
+        this.nativeSequence = connectionFactory.getMetadata().getName().toUpperCase().contains("H2");
+    }
+
+    public Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            Long id = takeFromBlock();
+            if (id != null) {
+                return Mono.just(id);
+            }
+            //Concurrent callers may each reserve a block, the one replaced first only wastes its unused ids
+            return reserveBlock().flatMap(value -> value < ALLOCATION_SIZE
+                    //Fresh sequence, same as Hibernate: the initial value starts the block and the next read ends it
+                    ? reserveBlock().map(blockHi -> startBlock(value, blockHi))
+                    : Mono.just(startBlock(value - ALLOCATION_SIZE + 1, value)));
+        });
+    }
+
+    private synchronized Long takeFromBlock() {
+        return next <= hi ? next++ : null;
+    }
+
+    private synchronized Long startBlock(long blockLo, long blockHi) {
+        next = blockLo;
+        hi = blockHi;
+        return next++;
+    }
+
+    private Mono<Long> reserveBlock() {
+        if (nativeSequence) {
+            return databaseClient.sql("SELECT NEXT VALUE FOR employee_seq")
+                    .map(row -> row.get(0, Long.class))
+                    .one();
+        }
+        return databaseClient.sql("SELECT next_val FROM employee_seq FOR UPDATE")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(value -> databaseClient.sql("UPDATE employee_seq SET next_val = :next")
+                        .bind("next", value + ALLOCATION_SIZE)
+                        .then()
+                        .thenReturn(value))
+                .as(transactionalOperator::transactional);
+    }
+}
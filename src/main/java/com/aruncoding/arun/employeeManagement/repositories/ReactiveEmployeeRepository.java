@@ -0,0 +1,13 @@
+package com.aruncoding.arun.employeeManagement.repositories;
+
+import com.aruncoding.arun.employeeManagement.entities.ReactiveEmployee;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveEmployeeRepository extends R2dbcRepository<ReactiveEmployee, Long> {
+
+    //Rows are emitted as the driver reads them, downstream demand controls how many are fetched
+    Flux<ReactiveEmployee> findAllByOrderByIdAsc();
+}
@@ -0,0 +1,11 @@
+package com.aruncoding.arun.employeeManagement.repositories;
+
+//Row of EmployeeRepository.findSalaryPercentiles
+public interface SalaryPercentiles {
+
+    Long getDepartmentId();
+
+    Double getMedianSalary();
+
+    Double getP90Salary();
+}
@@ -0,0 +1,18 @@
+package com.aruncoding.arun.employeeManagement.services;
+
+import com.aruncoding.arun.employeeManagement.dto.DepartmentDTO;
+
+import java.util.List;
+
+public interface DepartmentService {
+
+    List<DepartmentDTO> fetchAllDepartments();
+
+    DepartmentDTO fetchDepartmentById(Long id);
+
+    DepartmentDTO saveDepartment(DepartmentDTO departmentDTO);
+
+    DepartmentDTO updateDepartment(Long id, DepartmentDTO departmentDTO);
+
+    Boolean deleteDepartment(Long id);
+}
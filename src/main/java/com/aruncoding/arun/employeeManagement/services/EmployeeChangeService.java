@@ -0,0 +1,22 @@
+package com.aruncoding.arun.employeeManagement.services;
+
+import com.aruncoding.arun.employeeManagement.dto.EmployeeChangeDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeChangesDTO;
+import com.aruncoding.arun.employeeManagement.entities.Employee;
+import com.aruncoding.arun.employeeManagement.entities.EmployeeChange;
+
+import java.util.List;
+
+public interface EmployeeChangeService {
+
+    //Must run inside the transaction of the write it records
+    void recordChange(EmployeeChange.ChangeType changeType, Employee employee);
+
+    void recordDeletes(List<Long> employeeIds);
+
+    EmployeeChangesDTO fetchChanges(Long since, Integer limit);
+
+    List<EmployeeChangeDTO> fetchChangesAfter(long since, int limit);
+
+    int purgeExpiredChanges();
+}
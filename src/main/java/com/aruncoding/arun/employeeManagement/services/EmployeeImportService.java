@@ -0,0 +1,11 @@
+package com.aruncoding.arun.employeeManagement.services;
+
+import com.aruncoding.arun.employeeManagement.dto.ImportJobDTO;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface EmployeeImportService {
+
+    ImportJobDTO startImport(MultipartFile file);
+
+    ImportJobDTO fetchImportJob(String jobId);
+}
@@ -1,22 +1,50 @@
 package com.aruncoding.arun.employeeManagement.services;
 
+import com.aruncoding.arun.employeeManagement.dto.CursorPageDTO;
+import com.aruncoding.arun.employeeManagement.dto.DepartmentStatsDTO;
 import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDetailsDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeSearchCriteria;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 
 public interface EmployeeService {
 
     EmployeeDTO fetchEmployeeById(Long id);
 
-    List<EmployeeDTO> fetchAllEmployees();
+    CursorPageDTO<EmployeeDTO> fetchAllEmployees(String cursor, Integer size);
+
+    CursorPageDTO<EmployeeDTO> fetchEmployeesByDepartment(Long departmentId, String cursor, Integer size);
+
+    EmployeeDetailsDTO fetchEmployeeDetailsById(Long id);
+
+    CursorPageDTO<EmployeeDetailsDTO> fetchAllEmployeeDetails(String cursor, Integer size);
+
+    void streamAllEmployees(Consumer<EmployeeDTO> consumer);
+
+    void exportEmployees(Consumer<EmployeeDetailsDTO> consumer);
+
+    CursorPageDTO<EmployeeDTO> searchEmployees(EmployeeSearchCriteria criteria, String cursor, Integer size);
+
+    List<DepartmentStatsDTO> fetchDepartmentStats();
+
+    List<DepartmentStatsDTO> fetchDepartmentStatsSummary();
 
     EmployeeDTO saveEmployee(EmployeeDTO employeeDTO);
 
-    EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeDTO);
+    //expectedVersion from If-Match, null to skip the check
+    EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeDTO, Long expectedVersion);
+
+    Boolean deleteEmployee(Long id, Long expectedVersion);
+
+    EmployeeDTO patchEmployeeDetails(Long employeeId, Map<String, Object> updates, Long expectedVersion);
+
+    List<EmployeeDTO> saveEmployees(List<EmployeeDTO> employeeDTOs);
 
-    Boolean deleteEmployee(Long id);
+    List<EmployeeDTO> upsertEmployees(List<EmployeeDTO> employeeDTOs);
 
-    EmployeeDTO patchEmployeeDetails(Long employeeId, Map<String, Object> updates);
+    Integer deleteEmployees(List<Long> ids);
 }
@@ -0,0 +1,27 @@
+package com.aruncoding.arun.employeeManagement.services;
+
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDetailsDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+
+//Non-blocking counterpart of EmployeeService, nothing here waits on a thread for the database
+public interface ReactiveEmployeeService {
+
+    Mono<EmployeeDTO> fetchEmployeeById(Long id);
+
+    Flux<EmployeeDTO> fetchAllEmployees();
+
+    Mono<EmployeeDetailsDTO> fetchEmployeeDetailsById(Long id);
+
+    Mono<EmployeeDTO> saveEmployee(EmployeeDTO employeeDTO);
+
+    Mono<EmployeeDTO> updateEmployee(Long id, EmployeeDTO employeeDTO);
+
+    Mono<Boolean> deleteEmployee(Long id);
+
+    Mono<EmployeeDTO> patchEmployeeDetails(Long employeeId, Map<String, Object> updates);
+}
@@ -0,0 +1,133 @@
+package com.aruncoding.arun.employeeManagement.services.implementation;
+
+import com.aruncoding.arun.employeeManagement.configs.CacheConfig;
+import com.aruncoding.arun.employeeManagement.dto.DepartmentDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.mappers.EmployeeMapper;
+import com.aruncoding.arun.employeeManagement.repositories.DepartmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The whole department table in memory, so employee responses get the department title without a join.
+ * Reloaded after every department write committed here, and after employee.departments.cache-ttl so writes
+ * made by other instances show up too. Every reload drops the cached employees along with the old titles.
+ */
+@Component
+@Slf4j
+public class DepartmentCache {
+
+    private final DepartmentRepository departmentRepository;
+    private final EmployeeMapper employeeMapper;
+    private final CacheManager cacheManager;
+    private final long ttlMillis;
+    //Immutable snapshot swapped as a whole, readers never lock
+    private volatile Snapshot snapshot;
+
+    public DepartmentCache(DepartmentRepository departmentRepository, EmployeeMapper employeeMapper, CacheManager cacheManager,
+                           @Value("${employee.departments.cache-ttl:5m}") Duration ttl) {
+        this.departmentRepository = departmentRepository;
+        this.employeeMapper = employeeMapper;
+        this.cacheManager = cacheManager;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    public Optional<DepartmentDTO> find(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(current().byId.get(id));
+    }
+
+    public List<DepartmentDTO> findAll() {
+        return current().all;
+    }
+
+    public EmployeeDTO fillTitle(EmployeeDTO employeeDTO) {
+        if (employeeDTO != null && employeeDTO.getDepartmentId() != null) {
+            find(employeeDTO.getDepartmentId()).ifPresent(department -> employeeDTO.setDepartmentTitle(department.getTitle()));
+        }
+        return employeeDTO;
+    }
+
+    public <T extends Collection<EmployeeDTO>> T fillTitles(T employeeDTOs) {
+        Snapshot current = current();
+        for (EmployeeDTO employeeDTO : employeeDTOs) {
+            DepartmentDTO department = employeeDTO.getDepartmentId() == null ? null : current.byId.get(employeeDTO.getDepartmentId());
+            if (department != null) {
+                employeeDTO.setDepartmentTitle(department.getTitle());
+            }
+        }
+        return employeeDTOs;
+    }
+
+    //Inside a transaction the reload waits for the commit, reading earlier would miss the write or see one rolled back
+    public void refreshAfterCommit() {
+        afterCommit(this::refresh);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    public void refresh() {
+        List<DepartmentDTO> departments = departmentRepository.findAll().stream()
+                .map(department -> employeeMapper.toDTO(department))
+                .sorted((first, second) -> Long.compare(first.getId(), second.getId()))
+                .toList();
+        Snapshot previous = snapshot;
+        snapshot = new Snapshot(departments.stream().collect(Collectors.toUnmodifiableMap(DepartmentDTO::getId, Function.identity())),
+                departments, System.currentTimeMillis());
+        log.debug("Loaded {} departments into the department cache", departments.size());
+        if (previous != null) {
+            evictEmployees();
+        }
+    }
+
+    //Cached employees carry titles from the previous snapshot, whether this reload follows a local write or the TTL
+    //picking up a rename made on another instance. Evicted only after the swap: a read evicting earlier could cache
+    //the old title again from the old snapshot
+    private void evictEmployees() {
+        Cache employees = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+        if (employees != null) {
+            //invalidate() is immediate, a transaction-aware clear() would wait for a commit that already happened
+            employees.invalidate();
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null || System.currentTimeMillis() - current.loadedAt > ttlMillis) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null || System.currentTimeMillis() - current.loadedAt > ttlMillis) {
+                    refresh();
+                    current = snapshot;
+                }
+            }
+        }
+        return current;
+    }
+
+    private record Snapshot(Map<Long, DepartmentDTO> byId, List<DepartmentDTO> all, long loadedAt) {
+    }
+}
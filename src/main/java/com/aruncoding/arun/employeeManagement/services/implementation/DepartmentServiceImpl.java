@@ -0,0 +1,101 @@
+package com.aruncoding.arun.employeeManagement.services.implementation;
+
+import com.aruncoding.arun.employeeManagement.dto.DepartmentDTO;
+import com.aruncoding.arun.employeeManagement.entities.Department;
+import com.aruncoding.arun.employeeManagement.exceptions.InvalidRequestException;
+import com.aruncoding.arun.employeeManagement.exceptions.ResourceNotFoundException;
+import com.aruncoding.arun.employeeManagement.exceptions.RuntimeConflictException;
+import com.aruncoding.arun.employeeManagement.mappers.EmployeeMapper;
+import com.aruncoding.arun.employeeManagement.repositories.DepartmentRepository;
+import com.aruncoding.arun.employeeManagement.services.DepartmentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class DepartmentServiceImpl implements DepartmentService {
+
+    private final DepartmentRepository departmentRepository;
+    private final EmployeeMapper employeeMapper;
+    private final DepartmentCache departmentCache;
+
+    //Reads are served by the department cache, writes go to the database and reload it after commit
+
+    @Override
+    public List<DepartmentDTO> fetchAllDepartments() {
+        log.debug("Fetching all departments");
+        return departmentCache.findAll();
+    }
+
+    @Override
+    public DepartmentDTO fetchDepartmentById(Long id) {
+        log.debug("Fetching department with id:{}",id);
+        return departmentCache.find(id)
+                .orElseThrow(() -> {
+                    log.error("Department with id:{} not found", id);
+                    return new ResourceNotFoundException("Department not found with Id:" + id);
+                });
+    }
+
+    @Override
+    @Transactional
+    public DepartmentDTO saveDepartment(DepartmentDTO departmentDTO) {
+        validateTitle(departmentDTO);
+        log.debug("Saving department with title:{}",departmentDTO.getTitle());
+        Department department = employeeMapper.toEntity(departmentDTO);
+        department.setId(null);
+        Department savedDepartment = departmentRepository.save(department);
+        departmentCache.refreshAfterCommit();
+        return employeeMapper.toDTO(savedDepartment);
+    }
+
+    //Cached employees hold the department title, so all of them are dropped when a title changes
+    @Override
+    @Transactional
+    public DepartmentDTO updateDepartment(Long id, DepartmentDTO departmentDTO) {
+        validateTitle(departmentDTO);
+        log.debug("Updating department with id:{}",id);
+        Department department = departmentRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.error("Department with id:{} not found", id);
+                    return new ResourceNotFoundException("Department not found with Id:" + id);
+                });
+        department.setDptTitle(departmentDTO.getTitle());
+        Department updatedDepartment = departmentRepository.save(department);
+        departmentCache.refreshAfterCommit();
+        return employeeMapper.toDTO(updatedDepartment);
+    }
+
+    @Override
+    @Transactional
+    public Boolean deleteDepartment(Long id) {
+        log.debug("Deleting department with id:{}",id);
+        if(!departmentRepository.existsById(id)) {
+            log.error("Department with id:{} not found", id);
+            throw new ResourceNotFoundException("Department not found with Id:" + id);
+        }
+        try {
+            departmentRepository.deleteById(id);
+            departmentRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            //The employee foreign key is the only constraint a department delete can violate
+            log.error("Department with id:{} still has employees", id);
+            throw new RuntimeConflictException("Department with Id:" + id + " still has employees");
+        }
+        departmentCache.refreshAfterCommit();
+        return true;
+    }
+
+    private void validateTitle(DepartmentDTO departmentDTO) {
+        if(departmentDTO.getTitle() == null || departmentDTO.getTitle().isBlank()) {
+            throw new InvalidRequestException("Department title must not be blank");
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.aruncoding.arun.employeeManagement.services.implementation;
+
+import com.aruncoding.arun.employeeManagement.dto.EmployeeChangeDTO;
+import com.aruncoding.arun.employeeManagement.services.EmployeeChangeService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes the change feed to SSE subscribers. One thread polls the outbox every employee.changes.poll-interval;
+ * subscribers that are at the same position share one query, so caught up clients cost one query per poll.
+ * The same thread also purges changes older than employee.changes.retention once an hour.
+ */
+@Component
+@Slf4j
+public class EmployeeChangePublisher {
+
+    static final String EVENT_NAME = "employee-change";
+
+    private static final int BATCH_SIZE = 500;
+    private static final long KEEP_ALIVE_MILLIS = Duration.ofSeconds(15).toMillis();
+
+    private final EmployeeChangeService employeeChangeService;
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("employee-changes").factory());
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public EmployeeChangePublisher(EmployeeChangeService employeeChangeService,
+                                   @Value("${employee.changes.poll-interval:500ms}") Duration pollInterval) {
+        this.employeeChangeService = employeeChangeService;
+        scheduler.scheduleWithFixedDelay(this::publish, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::purge, 1, 60, TimeUnit.MINUTES);
+    }
+
+    //Events carry the sequence as id, so a reconnecting EventSource resumes through Last-Event-ID
+    public SseEmitter subscribe(long since) {
+        SseEmitter emitter = new SseEmitter();
+        Subscriber subscriber = new Subscriber(emitter, since);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        log.debug("Employee change subscriber added since:{}, subscribers:{}", since, subscribers.size());
+        return emitter;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    void publish() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        try {
+            Map<Long, List<Subscriber>> byPosition = subscribers.stream()
+                    .collect(Collectors.groupingBy(subscriber -> subscriber.lastSequence));
+            byPosition.forEach((since, group) -> {
+                List<EmployeeChangeDTO> changes = employeeChangeService.fetchChangesAfter(since, BATCH_SIZE);
+                group.forEach(subscriber -> subscriber.send(changes));
+            });
+        } catch (RuntimeException e) {
+            //An exception would cancel the scheduled task, the next poll retries
+            log.warn("Publishing employee changes failed", e);
+        }
+    }
+
+    void purge() {
+        try {
+            employeeChangeService.purgeExpiredChanges();
+        } catch (RuntimeException e) {
+            log.warn("Purging employee changes failed", e);
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private volatile long lastSequence;
+        private long lastSentAt = System.currentTimeMillis();
+
+        private Subscriber(SseEmitter emitter, long lastSequence) {
+            this.emitter = emitter;
+            this.lastSequence = lastSequence;
+        }
+
+        //Only called from the scheduler thread
+        private void send(List<EmployeeChangeDTO> changes) {
+            try {
+                for (EmployeeChangeDTO change : changes) {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(change.getSequence()))
+                            .name(EVENT_NAME)
+                            .data(change, MediaType.APPLICATION_JSON));
+                    lastSequence = change.getSequence();
+                    lastSentAt = System.currentTimeMillis();
+                }
+                //Comment lines keep proxies from closing an idle stream and detect clients that went away
+                if (System.currentTimeMillis() - lastSentAt > KEEP_ALIVE_MILLIS) {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                    lastSentAt = System.currentTimeMillis();
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Employee change subscriber gone: {}", e.getMessage());
+                subscribers.remove(this);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
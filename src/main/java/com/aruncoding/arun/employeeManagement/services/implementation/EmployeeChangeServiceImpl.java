@@ -0,0 +1,181 @@
+package com.aruncoding.arun.employeeManagement.services.implementation;
+
+import com.aruncoding.arun.employeeManagement.dto.EmployeeChangeDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeChangesDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.entities.Employee;
+import com.aruncoding.arun.employeeManagement.entities.EmployeeChange;
+import com.aruncoding.arun.employeeManagement.exceptions.InvalidRequestException;
+import com.aruncoding.arun.employeeManagement.repositories.EmployeeChangeRepository;
+import com.aruncoding.arun.employeeManagement.services.EmployeeChangeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transactional outbox of employee writes. Changes are collected while the transaction runs and inserted in one
+ * JDBC batch right before it commits, so an auto increment id is taken at the end of the transaction however long
+ * it ran. Ids are still handed out at insert and not at commit, so a change can become visible after one with a
+ * higher number: reads stop in front of a missing id until it shows up, or until the change after it is older than
+ * employee.changes.gap-timeout and the missing id can only belong to a transaction that rolled back.
+ */
+@Service
+@Slf4j
+public class EmployeeChangeServiceImpl implements EmployeeChangeService {
+
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 1000;
+
+    private static final String INSERT_CHANGE = "insert into employee_change (employee_id, change_type, version, name, " +
+            "email, age, salary, department_id, changed_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final EmployeeChangeRepository employeeChangeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration gapTimeout;
+    private final Duration retention;
+
+    public EmployeeChangeServiceImpl(EmployeeChangeRepository employeeChangeRepository,
+                                     JdbcTemplate jdbcTemplate,
+                                     @Value("${employee.changes.gap-timeout:30s}") Duration gapTimeout,
+                                     @Value("${employee.changes.retention:7d}") Duration retention) {
+        this.employeeChangeRepository = employeeChangeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.gapTimeout = gapTimeout;
+        this.retention = retention;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(EmployeeChange.ChangeType changeType, Employee employee) {
+        //The employee is copied now, later changes to it in the same transaction record their own row
+        pendingChanges().add(EmployeeChange.builder()
+                .employeeId(employee.getId())
+                .changeType(changeType)
+                .version(employee.getVersion())
+                .name(employee.getName())
+                .email(employee.getEmail())
+                .age(employee.getAge())
+                .salary(employee.getSalary())
+                .departmentId(employee.getDepartment() == null ? null : employee.getDepartment().getId())
+                .build());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletes(List<Long> employeeIds) {
+        PendingChanges pending = pendingChanges();
+        employeeIds.forEach(id -> pending.add(EmployeeChange.builder()
+                .employeeId(id)
+                .changeType(EmployeeChange.ChangeType.DELETED)
+                .build()));
+    }
+
+    //Not read-only on purpose: read-only transactions may go to a replica, and one lagging behind by more
+    //than the gap-timeout would let a consumer move past changes it has not seen yet
+    @Override
+    @Transactional
+    public EmployeeChangesDTO fetchChanges(Long since, Integer limit) {
+        long after = since == null ? 0L : since;
+        if(after < 0) {
+            throw new InvalidRequestException("since must not be negative");
+        }
+        int pageSize = limit == null ? DEFAULT_LIMIT : limit;
+        if(pageSize < 1 || pageSize > MAX_LIMIT) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        List<EmployeeChangeDTO> changes = fetchChangesAfter(after, pageSize + 1);
+        boolean hasMore = changes.size() > pageSize;
+        List<EmployeeChangeDTO> page = hasMore ? changes.subList(0, pageSize) : changes;
+        long lastSequence = page.isEmpty() ? after : page.get(page.size() - 1).getSequence();
+        return new EmployeeChangesDTO(page, lastSequence, hasMore);
+    }
+
+    @Override
+    @Transactional
+    public List<EmployeeChangeDTO> fetchChangesAfter(long since, int limit) {
+        LocalDateTime gapExpiredBefore = LocalDateTime.now().minus(gapTimeout);
+        List<EmployeeChangeDTO> changes = new ArrayList<>();
+        long previous = since;
+        for (EmployeeChange change : employeeChangeRepository.findByIdGreaterThanOrderByIdAsc(since, Limit.of(limit))) {
+            //The missing id may still commit, the consumer resumes in front of it on its next poll
+            if (change.getId() != previous + 1 && change.getChangedAt().isAfter(gapExpiredBefore)) {
+                log.debug("Holding back employee changes after {}, id {} is missing", previous, previous + 1);
+                break;
+            }
+            changes.add(toDTO(change));
+            previous = change.getId();
+        }
+        return changes;
+    }
+
+    //Consumers that fall further behind than the retention have to start over from a full export
+    @Override
+    @Transactional
+    public int purgeExpiredChanges() {
+        int purged = employeeChangeRepository.deleteByChangedAtBefore(LocalDateTime.now().minus(retention));
+        log.debug("Purged {} employee changes older than {}", purged, retention);
+        return purged;
+    }
+
+    //One list per transaction, kept in its synchronization so a suspended outer transaction keeps its own
+    private PendingChanges pendingChanges() {
+        return TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(PendingChanges.class::isInstance)
+                .map(PendingChanges.class::cast)
+                .findFirst()
+                .orElseGet(() -> {
+                    PendingChanges pending = new PendingChanges();
+                    TransactionSynchronizationManager.registerSynchronization(pending);
+                    return pending;
+                });
+    }
+
+    private class PendingChanges implements TransactionSynchronization {
+
+        private final List<EmployeeChange> changes = new ArrayList<>();
+
+        void add(EmployeeChange change) {
+            changes.add(change);
+        }
+
+        //Employee writes are flushed first, so only the commit itself runs between the insert and the moment the
+        //changes become visible. changedAt is that insert time, which is what the gap-timeout is measured against
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            employeeChangeRepository.flush();
+            Timestamp changedAt = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(INSERT_CHANGE, changes, changes.size(), (statement, change) -> {
+                statement.setLong(1, change.getEmployeeId());
+                statement.setString(2, change.getChangeType().name());
+                statement.setObject(3, change.getVersion(), Types.BIGINT);
+                statement.setString(4, change.getName());
+                statement.setString(5, change.getEmail());
+                statement.setObject(6, change.getAge(), Types.INTEGER);
+                statement.setObject(7, change.getSalary(), Types.DOUBLE);
+                statement.setObject(8, change.getDepartmentId(), Types.BIGINT);
+                statement.setTimestamp(9, changedAt);
+            });
+        }
+    }
+
+    private EmployeeChangeDTO toDTO(EmployeeChange change) {
+        EmployeeDTO employee = change.getChangeType() == EmployeeChange.ChangeType.DELETED ? null
+                : new EmployeeDTO(change.getEmployeeId(), change.getName(), change.getEmail(),
+                        change.getAge() == null ? 0 : change.getAge(), change.getSalary(), change.getVersion(), change.getDepartmentId());
+        return new EmployeeChangeDTO(change.getId(), change.getEmployeeId(), change.getChangeType(),
+                change.getVersion(), change.getChangedAt(), employee);
+    }
+}
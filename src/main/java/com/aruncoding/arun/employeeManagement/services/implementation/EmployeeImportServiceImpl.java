@@ -0,0 +1,383 @@
+package com.aruncoding.arun.employeeManagement.services.implementation;
+
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.dto.ImportJobDTO;
+import com.aruncoding.arun.employeeManagement.dto.ImportRowErrorDTO;
+import com.aruncoding.arun.employeeManagement.entities.Employee;
+import com.aruncoding.arun.employeeManagement.entities.EmployeeChange;
+import com.aruncoding.arun.employeeManagement.exceptions.InvalidRequestException;
+import com.aruncoding.arun.employeeManagement.exceptions.ResourceNotFoundException;
+import com.aruncoding.arun.employeeManagement.exceptions.RuntimeConflictException;
+import com.aruncoding.arun.employeeManagement.mappers.EmployeeMapper;
+import com.aruncoding.arun.employeeManagement.repositories.EmployeeRepository;
+import com.aruncoding.arun.employeeManagement.services.EmployeeChangeService;
+import com.aruncoding.arun.employeeManagement.services.EmployeeImportService;
+import com.aruncoding.arun.employeeManagement.utils.ConstraintViolations;
+import com.aruncoding.arun.employeeManagement.utils.CsvRecordReader;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * CSV import in the background: the upload is copied to a temp file, then read record by record in chunks of
+ * employee.import.batch-size. Each chunk is validated in parallel, checked for duplicates within the chunk and
+ * with one IN query against the table, and written with batched inserts in its own transaction. Earlier chunks
+ * are committed by then, so the IN query also catches an email repeated further down the file and nothing is
+ * kept per job but its counters and reported errors, however large the file.
+ * Jobs are only kept in memory, so their progress is lost on restart and only visible on this instance.
+ */
+@Service
+@Slf4j
+public class EmployeeImportServiceImpl implements EmployeeImportService {
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "email", "age");
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final int MAX_QUEUED_JOBS = 10;
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeMapper employeeMapper;
+    private final EmployeeChangeService employeeChangeService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxReportedErrors;
+    //Own pool instead of an Executor bean, which would replace Spring Boot's applicationTaskExecutor
+    private final ThreadPoolExecutor importExecutor;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public EmployeeImportServiceImpl(EmployeeRepository employeeRepository,
+                                     EmployeeMapper employeeMapper,
+                                     EmployeeChangeService employeeChangeService,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${employee.import.batch-size:1000}") int batchSize,
+                                     @Value("${employee.import.concurrency:1}") int concurrency,
+                                     @Value("${employee.import.max-reported-errors:1000}") int maxReportedErrors) {
+        if (batchSize < 1 || concurrency < 1) {
+            throw new IllegalArgumentException("employee.import.batch-size and employee.import.concurrency must be positive");
+        }
+        this.employeeRepository = employeeRepository;
+        this.employeeMapper = employeeMapper;
+        this.employeeChangeService = employeeChangeService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.importExecutor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(MAX_QUEUED_JOBS), Thread.ofPlatform().name("employee-import-", 1).factory());
+    }
+
+    @Override
+    public ImportJobDTO startImport(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new InvalidRequestException("Import file is empty");
+        }
+        Path path = copyToTempFile(file);
+        ImportJob job;
+        try {
+            Map<String, Integer> columns = readColumns(path);
+            job = new ImportJob(UUID.randomUUID().toString(), file.getOriginalFilename(), maxReportedErrors);
+            purgeFinishedJobs();
+            jobs.put(job.id, job);
+            importExecutor.execute(() -> runImport(job, path, columns));
+        } catch (RejectedExecutionException e) {
+            deleteQuietly(path);
+            throw new RuntimeConflictException("Too many imports in progress, retry later");
+        } catch (RuntimeException e) {
+            deleteQuietly(path);
+            throw e;
+        }
+        log.info("Queued employee import job:{} for file:{}", job.id, file.getOriginalFilename());
+        return job.toDTO();
+    }
+
+    @Override
+    public ImportJobDTO fetchImportJob(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found with Id:" + jobId);
+        }
+        return job.toDTO();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        importExecutor.shutdownNow();
+    }
+
+    void runImport(ImportJob job, Path path, Map<String, Integer> columns) {
+        job.start();
+        try (CsvRecordReader reader = new CsvRecordReader(Files.newBufferedReader(path, StandardCharsets.UTF_8))) {
+            reader.next();
+            List<CsvRow> chunk = new ArrayList<>(batchSize);
+            List<String> record;
+            while ((record = reader.next()) != null && !Thread.currentThread().isInterrupted()) {
+                chunk.add(new CsvRow(reader.recordNumber() - 1, record));
+                if (chunk.size() == batchSize) {
+                    importChunk(job, chunk, columns);
+                    chunk = new ArrayList<>(batchSize);
+                }
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                job.fail("Import interrupted by shutdown");
+                return;
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(job, chunk, columns);
+            }
+            job.complete();
+            log.info("Finished employee import job:{} imported:{} failed:{}", job.id, job.importedRows.get(), job.failedRows.get());
+        } catch (Exception e) {
+            log.error("Employee import job:{} failed", job.id, e);
+            job.fail(e.getMessage());
+        } finally {
+            deleteQuietly(path);
+        }
+    }
+
+    private void importChunk(ImportJob job, List<CsvRow> chunk, Map<String, Integer> columns) {
+        //Field checks do not depend on each other, parse them on all cores. toList keeps the file order
+        List<ImportRow> rows = chunk.parallelStream().map(row -> parse(row, columns)).toList();
+
+        //Duplicates are decided in file order: the first occurrence wins. Compared case insensitively like MySQL does
+        Map<String, ImportRow> byEmail = new HashMap<>();
+        for (ImportRow row : rows) {
+            if (row.error == null) {
+                String key = row.employee.getEmail().toLowerCase(Locale.ROOT);
+                if (byEmail.putIfAbsent(key, row) != null) {
+                    row.error = "Duplicate email in file";
+                }
+            }
+        }
+        if (!byEmail.isEmpty()) {
+            List<String> emails = byEmail.values().stream().map(row -> row.employee.getEmail()).toList();
+            for (String existing : employeeRepository.findExistingEmails(emails)) {
+                ImportRow row = byEmail.get(existing.toLowerCase(Locale.ROOT));
+                if (row != null) {
+                    row.error = "Employee already exists with email:" + existing;
+                }
+            }
+        }
+
+        List<ImportRow> valid = rows.stream().filter(row -> row.error == null).toList();
+        if (!valid.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> employeeRepository
+                        .saveAll(valid.stream().map(row -> employeeMapper.toEntity(row.employee)).toList())
+                        .forEach(this::recordCreated));
+            } catch (DataIntegrityViolationException e) {
+                //Someone else inserted one of these emails since the check, find out which row by row
+                log.warn("Batch insert of import job:{} failed, retrying {} rows one by one", job.id, valid.size());
+                valid.forEach(this::saveIndividually);
+            }
+        }
+        job.record(rows, maxReportedErrors);
+    }
+
+    private void saveIndividually(ImportRow row) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> recordCreated(employeeRepository.save(employeeMapper.toEntity(row.employee))));
+        } catch (DataIntegrityViolationException e) {
+            row.error = describe(e, row.employee.getEmail());
+        }
+    }
+
+    //Only the unique email index means the employee exists, anything else is reported as the database put it
+    private static String describe(DataIntegrityViolationException e, String email) {
+        if (ConstraintViolations.isViolationOf(e, Employee.UNIQUE_EMAIL_CONSTRAINT)) {
+            return "Employee already exists with email:" + email;
+        }
+        String constraintName = ConstraintViolations.constraintName(e);
+        return constraintName != null ? "Employee violates constraint:" + constraintName
+                : "Employee could not be saved:" + e.getMostSpecificCause().getMessage();
+    }
+
+    private void recordCreated(Employee employee) {
+        employeeChangeService.recordChange(EmployeeChange.ChangeType.CREATED, employee);
+    }
+
+    ImportRow parse(CsvRow row, Map<String, Integer> columns) {
+        String name = field(row, columns, "name");
+        String email = field(row, columns, "email");
+        String age = field(row, columns, "age");
+        String salary = field(row, columns, "salary");
+        ImportRow result = new ImportRow(row.number, EmployeeDTO.builder().name(name).email(email).build());
+        if (name == null || name.length() > MAX_TEXT_LENGTH) {
+            result.error = "Name must be between 1 and " + MAX_TEXT_LENGTH + " characters";
+        } else if (email == null || email.length() > MAX_TEXT_LENGTH || !EMAIL_PATTERN.matcher(email).matches()) {
+            result.error = "Invalid email:" + email;
+        } else {
+            try {
+                int parsedAge = Integer.parseInt(age == null ? "" : age);
+                Double parsedSalary = salary == null ? null : Double.valueOf(salary);
+                if (parsedAge < 1) {
+                    result.error = "Age must be positive";
+                } else if (parsedSalary != null && (parsedSalary < 0 || parsedSalary.isNaN() || parsedSalary.isInfinite())) {
+                    result.error = "Salary must not be negative";
+                } else {
+                    result.employee.setAge(parsedAge);
+                    result.employee.setSalary(parsedSalary);
+                }
+            } catch (NumberFormatException e) {
+                result.error = "Invalid number in age:" + age + " or salary:" + salary;
+            }
+        }
+        return result;
+    }
+
+    private static String field(CsvRow row, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= row.fields.size()) {
+            return null;
+        }
+        String value = row.fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    //Header columns by name, unknown columns (e.g. id or departmentId of an export file) are ignored
+    private Map<String, Integer> readColumns(Path path) {
+        try (CsvRecordReader reader = new CsvRecordReader(Files.newBufferedReader(path, StandardCharsets.UTF_8))) {
+            List<String> header = reader.next();
+            if (header == null) {
+                throw new InvalidRequestException("Import file has no header");
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            List<String> missing = REQUIRED_COLUMNS.stream().filter(column -> !columns.containsKey(column)).toList();
+            if (!missing.isEmpty()) {
+                throw new InvalidRequestException("Import file is missing columns:" + missing);
+            }
+            return columns;
+        } catch (IOException e) {
+            throw new InvalidRequestException("Import file is not valid CSV:" + e.getMessage());
+        }
+    }
+
+    private static Path copyToTempFile(MultipartFile file) {
+        try {
+            Path path = Files.createTempFile("employee-import-", ".csv");
+            file.transferTo(path);
+            return path;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete import file:{}", path, e);
+        }
+    }
+
+    private void purgeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(FINISHED_JOB_RETENTION);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    record CsvRow(long number, List<String> fields) {
+    }
+
+    static final class ImportRow {
+
+        private final long number;
+        private final EmployeeDTO employee;
+        private String error;
+
+        ImportRow(long number, EmployeeDTO employee) {
+            this.number = number;
+            this.employee = employee;
+        }
+    }
+
+    //Written by the import thread only, read by progress requests
+    static final class ImportJob {
+
+        private final String id;
+        private final String fileName;
+        private final List<ImportRowErrorDTO> errors;
+        private final AtomicLong processedRows = new AtomicLong();
+        private final AtomicLong importedRows = new AtomicLong();
+        private final AtomicLong failedRows = new AtomicLong();
+        private volatile ImportJobDTO.Status status = ImportJobDTO.Status.QUEUED;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String failureReason;
+
+        ImportJob(String id, String fileName, int maxReportedErrors) {
+            this.id = id;
+            this.fileName = fileName;
+            this.errors = new ArrayList<>(Math.min(maxReportedErrors, 64));
+        }
+
+        void start() {
+            startedAt = LocalDateTime.now();
+            status = ImportJobDTO.Status.RUNNING;
+        }
+
+        void record(List<ImportRow> rows, int maxReportedErrors) {
+            long failed = 0;
+            synchronized (errors) {
+                for (ImportRow row : rows) {
+                    if (row.error != null) {
+                        failed++;
+                        if (errors.size() < maxReportedErrors) {
+                            errors.add(new ImportRowErrorDTO(row.number, row.employee.getEmail(), row.error));
+                        }
+                    }
+                }
+            }
+            failedRows.addAndGet(failed);
+            importedRows.addAndGet(rows.size() - failed);
+            processedRows.addAndGet(rows.size());
+        }
+
+        void complete() {
+            finishedAt = LocalDateTime.now();
+            status = ImportJobDTO.Status.COMPLETED;
+        }
+
+        void fail(String reason) {
+            failureReason = reason;
+            finishedAt = LocalDateTime.now();
+            status = ImportJobDTO.Status.FAILED;
+        }
+
+        ImportJobDTO toDTO() {
+            List<ImportRowErrorDTO> reported;
+            synchronized (errors) {
+                reported = List.copyOf(errors);
+            }
+            return new ImportJobDTO(id, fileName, status, processedRows.get(), importedRows.get(), failedRows.get(),
+                    startedAt, finishedAt, failureReason, reported);
+        }
+    }
+}
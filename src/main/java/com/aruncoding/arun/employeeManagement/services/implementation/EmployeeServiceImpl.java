@@ -1,121 +1,528 @@
 package com.aruncoding.arun.employeeManagement.services.implementation;
 
+import com.aruncoding.arun.employeeManagement.configs.CacheConfig;
+import com.aruncoding.arun.employeeManagement.dto.AgeDistributionDTO;
+import com.aruncoding.arun.employeeManagement.dto.CursorPageDTO;
+import com.aruncoding.arun.employeeManagement.dto.DepartmentStatsDTO;
 import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDetailsDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeSearchCriteria;
+import com.aruncoding.arun.employeeManagement.entities.Department;
+import com.aruncoding.arun.employeeManagement.entities.DepartmentEmployeeSummary;
 import com.aruncoding.arun.employeeManagement.entities.Employee;
+import com.aruncoding.arun.employeeManagement.entities.EmployeeChange;
+import com.aruncoding.arun.employeeManagement.exceptions.InvalidRequestException;
+import com.aruncoding.arun.employeeManagement.exceptions.PreconditionFailedException;
 import com.aruncoding.arun.employeeManagement.exceptions.ResourceNotFoundException;
 import com.aruncoding.arun.employeeManagement.exceptions.RuntimeConflictException;
+import com.aruncoding.arun.employeeManagement.mappers.EmployeeMapper;
+import com.aruncoding.arun.employeeManagement.repositories.DepartmentEmployeeSummaryRepository;
+import com.aruncoding.arun.employeeManagement.repositories.DepartmentRepository;
 import com.aruncoding.arun.employeeManagement.repositories.EmployeeRepository;
+import com.aruncoding.arun.employeeManagement.repositories.SalaryPercentiles;
+import com.aruncoding.arun.employeeManagement.services.EmployeeChangeService;
 import com.aruncoding.arun.employeeManagement.services.EmployeeService;
+import com.aruncoding.arun.employeeManagement.utils.ConstraintViolations;
+import com.aruncoding.arun.employeeManagement.utils.CursorCodec;
+import com.aruncoding.arun.employeeManagement.utils.EntityPatcher;
+import com.aruncoding.arun.employeeManagement.utils.SingleFlight;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.util.ReflectionUtils;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.lang.reflect.Field;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
+//One timer per method, tagged with the method name and the exception thrown if any
+@Timed(value = "employee.service", histogram = true)
 public class EmployeeServiceImpl implements EmployeeService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final int MAX_BULK_SIZE = 1000;
+
     private final EmployeeRepository employeeRepository;
-    private final ModelMapper modelMapper;
+    private final EmployeeMapper employeeMapper;
+    private final EntityPatcher<Employee> employeePatcher;
+    private final DepartmentEmployeeSummaryRepository departmentEmployeeSummaryRepository;
+    //Every write below records its outbox row in the same transaction, see EmployeeChangeService
+    private final EmployeeChangeService employeeChangeService;
+    private final DepartmentRepository departmentRepository;
+    //Department titles come from memory, employee queries never join department
+    private final DepartmentCache departmentCache;
+    private final SingleFlight<Long, EmployeeDTO> employeeByIdFlight;
+    private final SingleFlight<String, CursorPageDTO<EmployeeDTO>> employeePageFlight;
 
 
+    //Cache misses for the same id arriving together run one query. No transaction around it on purpose: callers
+    //waiting for the shared result would each hold a connection. findDTOById is read-only on the repository
     @Override
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
     public EmployeeDTO fetchEmployeeById(Long id) {
-        log.info("Fetching employee with id:{}",id);
-        Employee employee = employeeRepository.findById(id)
+        log.debug("Fetching employee with id:{}",id);
+        return employeeByIdFlight.execute(id, () -> {
+            EmployeeDTO employee = employeeRepository.findDTOById(id)
+                    .orElseThrow(() -> {
+                        log.error("Employee with id:{} not found", id);
+                        return new ResourceNotFoundException("Employee not found with Id:" + id);
+                    });
+            return departmentCache.fillTitle(employee);
+        });
+    }
+
+    //Shares pages like fetchEmployeeById shares employees, requests are validated before they can join a call
+    @Override
+    public CursorPageDTO<EmployeeDTO> fetchAllEmployees(String cursor, Integer size) {
+        log.debug("Fetching employees after cursor:{}",cursor);
+        int pageSize = resolvePageSize(size);
+        Long afterId = CursorCodec.decode(cursor);
+        CursorPageDTO<EmployeeDTO> page = employeePageFlight.execute(afterId + "/" + pageSize, () -> {
+            //Ask for one extra row to know whether another page exists without a count query
+            List<EmployeeDTO> rows = departmentCache.fillTitles(employeeRepository.findDTOsByIdGreaterThan(afterId, Limit.of(pageSize + 1)));
+            return toPage(rows, afterId, pageSize, EmployeeDTO::getId);
+        });
+        log.debug("Fetched {} employees",page.getSize());
+        return page;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<EmployeeDTO> fetchEmployeesByDepartment(Long departmentId, String cursor, Integer size) {
+        log.debug("Fetching employees of department:{} after cursor:{}",departmentId,cursor);
+        if(!departmentExists(departmentId)) {
+            log.error("Department with id:{} not found", departmentId);
+            throw new ResourceNotFoundException("Department not found with Id:" + departmentId);
+        }
+        int pageSize = resolvePageSize(size);
+        Long afterId = CursorCodec.decode(cursor);
+        List<EmployeeDTO> rows = departmentCache.fillTitles(
+                employeeRepository.findDTOsByDepartmentIdAndIdGreaterThan(departmentId, afterId, Limit.of(pageSize + 1)));
+        //A department without employees is an empty page, the department itself exists
+        return buildPage(rows, pageSize, EmployeeDTO::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeeDetailsDTO fetchEmployeeDetailsById(Long id) {
+        log.debug("Fetching employee with department, id:{}",id);
+        Employee employee = employeeRepository.findWithDepartmentById(id)
                 .orElseThrow(() -> {
                     log.error("Employee with id:{} not found", id);
                     return new ResourceNotFoundException("Employee not found with Id:" + id);
                 });
-        log.info("Fetched employee with id:{}",id);
-        return modelMapper.map(employee,EmployeeDTO.class);
+        return employeeMapper.toDetailsDTO(employee);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<EmployeeDetailsDTO> fetchAllEmployeeDetails(String cursor, Integer size) {
+        log.debug("Fetching employees with department after cursor:{}",cursor);
+        int pageSize = resolvePageSize(size);
+        Long afterId = CursorCodec.decode(cursor);
+        List<EmployeeDetailsDTO> rows = employeeRepository.findDetailsByIdGreaterThan(afterId, Limit.of(pageSize + 1));
+        return toPage(rows, afterId, pageSize, EmployeeDetailsDTO::getId);
+    }
+
+    @Override
+    public void streamAllEmployees(Consumer<EmployeeDTO> consumer) {
+        log.debug("Streaming all employees");
+        Long afterId = 0L;
+        List<EmployeeDTO> batch;
+        do {
+            batch = departmentCache.fillTitles(employeeRepository.findDTOsByIdGreaterThan(afterId, Limit.of(STREAM_BATCH_SIZE)));
+            batch.forEach(consumer);
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == STREAM_BATCH_SIZE);
+        log.debug("Streamed all employees");
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEmployees(Consumer<EmployeeDetailsDTO> consumer) {
+        log.debug("Exporting all employees");
+        //One query over a database cursor, rows are DTOs so the persistence context stays empty
+        try (Stream<EmployeeDetailsDTO> rows = employeeRepository.streamAllDetails()) {
+            rows.forEach(consumer);
+        }
+        log.debug("Exported all employees");
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<EmployeeDTO> searchEmployees(EmployeeSearchCriteria criteria, String cursor, Integer size) {
+        log.debug("Searching employees with:{} after cursor:{}",criteria,cursor);
+        validateRange("age", criteria.getMinAge(), criteria.getMaxAge());
+        validateRange("salary", criteria.getMinSalary(), criteria.getMaxSalary());
+        int pageSize = resolvePageSize(size);
+        Long afterId = CursorCodec.decode(cursor);
+        List<EmployeeDTO> rows = departmentCache.fillTitles(employeeRepository.searchDTOs(criteria, afterId, Limit.of(pageSize + 1)));
+        //No match is a valid answer for a search, so an empty page instead of a 404
+        return buildPage(rows, pageSize, EmployeeDTO::getId);
     }
 
     @Override
-    public List<EmployeeDTO> fetchAllEmployees() {
-        log.info("Fetching all employees");
-        List<Employee> allEmployees = employeeRepository.findAll();
-        if(allEmployees.isEmpty()){
+    @Transactional(readOnly = true)
+    public List<DepartmentStatsDTO> fetchDepartmentStats() {
+        log.debug("Fetching department stats");
+        List<DepartmentStatsDTO> stats = employeeRepository.findDepartmentStats();
+        //Keyed by department id, the null key holds employees without a department
+        Map<Long, SalaryPercentiles> percentiles = new HashMap<>();
+        employeeRepository.findSalaryPercentiles().forEach(row -> percentiles.put(row.getDepartmentId(), row));
+        stats.forEach(stat -> {
+            SalaryPercentiles row = percentiles.get(stat.getDepartmentId());
+            if(row != null) {
+                stat.setMedianSalary(row.getMedianSalary());
+                stat.setP90Salary(row.getP90Salary());
+            }
+        });
+        return stats;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DepartmentStatsDTO> fetchDepartmentStatsSummary() {
+        log.debug("Fetching department stats summary");
+        return departmentEmployeeSummaryRepository.findAllWithTitle().stream()
+                .map(row -> toStats(row.getSummary(), row.getDepartmentTitle()))
+                .toList();
+    }
+
+    private DepartmentStatsDTO toStats(DepartmentEmployeeSummary summary, String departmentTitle) {
+        Long departmentId = summary.getDepartmentId() == DepartmentEmployeeSummary.NO_DEPARTMENT ? null : summary.getDepartmentId();
+        return DepartmentStatsDTO.builder()
+                .departmentId(departmentId)
+                .departmentTitle(departmentTitle)
+                .headcount(summary.getHeadcount())
+                .averageSalary(summary.getSalaryCount() == 0 ? null : summary.getSalaryTotal() / summary.getSalaryCount())
+                .averageAge((double) summary.getAgeTotal() / summary.getHeadcount())
+                .ageDistribution(new AgeDistributionDTO(summary.getAgeUnder30(), summary.getAge30To39(),
+                        summary.getAge40To49(), summary.getAge50Plus()))
+                .build();
+    }
+
+    private <T extends Comparable<T>> void validateRange(String field, T min, T max) {
+        if(min != null && max != null && min.compareTo(max) > 0) {
+            throw new InvalidRequestException("Invalid " + field + " range:" + min + " > " + max);
+        }
+    }
+
+    //rows holds up to pageSize + 1 entries, the extra one only tells that another page exists
+    private <T> CursorPageDTO<T> toPage(List<T> rows, Long afterId, int pageSize, Function<T, Long> idOf) {
+        if(rows.isEmpty() && afterId == 0L){
             throw new ResourceNotFoundException("Employees Does not Exists");
         }
-        List<EmployeeDTO> employees = allEmployees
-                .stream()
-                .map(employee -> modelMapper.map(employee, EmployeeDTO.class))
-                .collect(Collectors.toList());
-        log.info("Fetched all employees");
-        return employees;
+        return buildPage(rows, pageSize, idOf);
+    }
+
+    private <T> CursorPageDTO<T> buildPage(List<T> rows, int pageSize, Function<T, Long> idOf) {
+        boolean hasNext = rows.size() > pageSize;
+        List<T> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? CursorCodec.encode(idOf.apply(page.get(page.size() - 1))) : null;
+        return new CursorPageDTO<>(page, page.size(), nextCursor);
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
     }
 
 
     @Override
+    @Transactional
     public EmployeeDTO saveEmployee(EmployeeDTO employeeDTO) {
-        log.info("Checking if Employee with email already exists:{}",employeeDTO.getEmail());
-        Optional<Employee> employee = employeeRepository.findByEmail(employeeDTO.getEmail());
-        if(employee.isPresent()) {
-            log.error("Employee with email already exists");
-            throw new RuntimeConflictException("Employee already exists with Email:" + employeeDTO.getEmail());
-        }
-        Employee employeeToBeSaved = modelMapper.map(employeeDTO, Employee.class);
-        log.info("Saving employee with email:{}",employeeDTO.getEmail());
-        Employee savedEmployee = employeeRepository.save(employeeToBeSaved);
-        return modelMapper.map(savedEmployee,EmployeeDTO.class);
+        //No lookup by email first, the unique index on email rejects duplicates in the same round trip as the insert
+        Employee employeeToBeSaved = employeeMapper.toEntity(employeeDTO);
+        employeeToBeSaved.setDepartment(resolveDepartment(employeeDTO.getDepartmentId()));
+        log.debug("Saving employee with email:{}",employeeDTO.getEmail());
+        Employee savedEmployee = saveAndCheckConstraints(employeeToBeSaved);
+        employeeChangeService.recordChange(EmployeeChange.ChangeType.CREATED, savedEmployee);
+        return departmentCache.fillTitle(employeeMapper.toDTO(savedEmployee));
     }
 
     @Override
-    public EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeDTO) {
-        log.info("Updating employee with id:{}",id);
+    @CachePut(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
+    @Transactional
+    public EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeDTO, Long expectedVersion) {
+        log.debug("Updating employee with id:{}",id);
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> {
                     log.error("Employee with id:{} not found", id);
                     return new ResourceNotFoundException("Employee not found with Id:" + id);
                 });
+        checkVersion(employee, expectedVersion);
         employee.setAge(employeeDTO.getAge());
         employee.setName(employeeDTO.getName());
         employee.setSalary(employeeDTO.getSalary());
         employee.setEmail(employeeDTO.getEmail());
-        log.info("Updating employee with Id:{}:{}", id,employee);
-        Employee updatedEmployee=employeeRepository.save(employee);
-        log.info("Updated employee with Id:{}:{}", id,updatedEmployee);
-        return modelMapper.map(updatedEmployee,EmployeeDTO.class);
+        //PUT replaces the whole employee, so a missing departmentId takes the employee out of its department
+        employee.setDepartment(resolveDepartment(employeeDTO.getDepartmentId()));
+        Employee updatedEmployee=saveWithVersionCheck(employee, expectedVersion);
+        employeeChangeService.recordChange(EmployeeChange.ChangeType.UPDATED, updatedEmployee);
+        return departmentCache.fillTitle(employeeMapper.toDTO(updatedEmployee));
     }
 
     @Override
-    public Boolean deleteEmployee(Long id) {
-        log.info("Deleting employee with id:{}",id);
-        if(!doesEmployeeExist(id)) {
-            log.error("Employee with id:{} not found", id);
-            throw new ResourceNotFoundException("Employee not found with Id:" + id);
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
+    @Transactional
+    public Boolean deleteEmployee(Long id, Long expectedVersion) {
+        log.debug("Deleting employee with id:{}",id);
+        Employee employee = employeeRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.error("Employee with id:{} not found", id);
+                    return new ResourceNotFoundException("Employee not found with Id:" + id);
+                });
+        checkVersion(employee, expectedVersion);
+        try {
+            //Flushed here so a concurrent change is seen while the If-Match outcome can still be reported
+            employeeRepository.delete(employee);
+            employeeRepository.flush();
+        } catch (OptimisticLockingFailureException e) {
+            throw staleVersion(employee, expectedVersion, e);
         }
-        log.info("Deleting Employee with Id:{}",id);
-        employeeRepository.deleteById(id);
+        employeeChangeService.recordDeletes(List.of(id));
         return true;
     }
 
     @Override
-    public EmployeeDTO patchEmployeeDetails(Long employeeId, Map<String, Object> updates) {
-        log.info("Updating employee with id:{}",employeeId);
+    @CachePut(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#employeeId")
+    @Transactional
+    public EmployeeDTO patchEmployeeDetails(Long employeeId, Map<String, Object> updates, Long expectedVersion) {
+        log.debug("Updating employee with id:{}",employeeId);
+        //Unknown fields and bad values are rejected before touching the database
+        Map<String, Object> validUpdates = employeePatcher.prepare(updates);
         Employee employeeToBeUpdated = employeeRepository.findById(employeeId)
                 .orElseThrow(() -> {
                     log.error("Employee with id:{} not found", employeeId);
                     return new ResourceNotFoundException("Employee not found with Id:" + employeeId);
                 });
-        updates.forEach((field,value)->{
-            Field requiredField = ReflectionUtils.findRequiredField(Employee.class, field);
-            requiredField.setAccessible(true);
-            ReflectionUtils.setField(requiredField, employeeToBeUpdated, value);
-        });
-        log.info("Updating Employee with Id:{},{}",employeeId,employeeToBeUpdated);
-        Employee updateEmployee = employeeRepository.save(employeeToBeUpdated);
-        return modelMapper.map(updateEmployee,EmployeeDTO.class);
+        checkVersion(employeeToBeUpdated, expectedVersion);
+        employeePatcher.apply(employeeToBeUpdated, validUpdates);
+        Employee updateEmployee = saveWithVersionCheck(employeeToBeUpdated, expectedVersion);
+        employeeChangeService.recordChange(EmployeeChange.ChangeType.UPDATED, updateEmployee);
+        return departmentCache.fillTitle(employeeMapper.toDTO(updateEmployee));
+    }
+
+    @Override
+    @Transactional
+    public List<EmployeeDTO> saveEmployees(List<EmployeeDTO> employeeDTOs) {
+        log.debug("Saving {} employees in bulk",employeeDTOs.size());
+        validateBulkSize(employeeDTOs.size());
+        Set<String> emails = collectUniqueEmails(employeeDTOs);
+        List<String> existingEmails = emails.isEmpty() ? List.of() : employeeRepository.findExistingEmails(emails);
+        if(!existingEmails.isEmpty()) {
+            log.error("Employees with emails already exist:{}",existingEmails);
+            throw new RuntimeConflictException("Employees already exist with Emails:" + existingEmails);
+        }
+        List<Employee> employeesToBeSaved = employeeDTOs
+                .stream()
+                .map(employeeDTO -> {
+                    Employee employee = employeeMapper.toEntity(employeeDTO);
+                    employee.setDepartment(resolveDepartment(employeeDTO.getDepartmentId()));
+                    return employee;
+                })
+                .collect(Collectors.toList());
+        List<Employee> savedEmployees = saveAllAndCheckConstraints(employeesToBeSaved, emails);
+        savedEmployees.forEach(employee -> employeeChangeService.recordChange(EmployeeChange.ChangeType.CREATED, employee));
+        return departmentCache.fillTitles(savedEmployees
+                .stream()
+                .map(employee -> employeeMapper.toDTO(employee))
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, allEntries = true)
+    @Transactional
+    public List<EmployeeDTO> upsertEmployees(List<EmployeeDTO> employeeDTOs) {
+        log.debug("Upserting {} employees in bulk",employeeDTOs.size());
+        validateBulkSize(employeeDTOs.size());
+        Set<String> emails = collectUniqueEmails(employeeDTOs);
+        //Email is the natural key, one IN query finds every row that has to be updated instead of inserted.
+        //Keyed in lower case, the IN query and the unique index match emails case insensitively like MySQL does
+        Map<String, Employee> existingByEmail = (emails.isEmpty() ? List.<Employee>of() : employeeRepository.findByEmailIn(emails))
+                .stream()
+                .collect(Collectors.toMap(employee -> emailKey(employee.getEmail()), Function.identity()));
+        List<Employee> employeesToBeSaved = employeeDTOs
+                .stream()
+                .map(employeeDTO -> {
+                    Employee existing = employeeDTO.getEmail() == null ? null : existingByEmail.get(emailKey(employeeDTO.getEmail()));
+                    Employee employee = existing == null ? employeeMapper.toEntity(employeeDTO) : existing;
+                    employee.setName(employeeDTO.getName());
+                    employee.setAge(employeeDTO.getAge());
+                    employee.setSalary(employeeDTO.getSalary());
+                    employee.setDepartment(resolveDepartment(employeeDTO.getDepartmentId()));
+                    return employee;
+                })
+                .collect(Collectors.toList());
+        List<Employee> savedEmployees = saveAllAndCheckConstraints(employeesToBeSaved, emails);
+        savedEmployees.forEach(employee -> employeeChangeService.recordChange(
+                existingByEmail.containsKey(emailKey(employee.getEmail())) ? EmployeeChange.ChangeType.UPDATED : EmployeeChange.ChangeType.CREATED,
+                employee));
+        return departmentCache.fillTitles(savedEmployees
+                .stream()
+                .map(employee -> employeeMapper.toDTO(employee))
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, allEntries = true)
+    @Transactional
+    public Integer deleteEmployees(List<Long> ids) {
+        log.debug("Deleting {} employees in bulk",ids.size());
+        validateBulkSize(ids.size());
+        if(ids.isEmpty()) {
+            return 0;
+        }
+        //Only ids that exist get a DELETED change
+        List<Long> existingIds = employeeRepository.findExistingIds(ids);
+        if(existingIds.isEmpty()) {
+            return 0;
+        }
+        employeeChangeService.recordDeletes(existingIds);
+        return employeeRepository.deleteByIdIn(existingIds);
+    }
+
+    //Checked against the cache, a miss falls back to the database for departments created on another instance.
+    //A department deleted elsewhere can still be in the snapshot until it reloads, the foreign key catches that
+    private boolean departmentExists(Long departmentId) {
+        return departmentCache.find(departmentId).isPresent() || departmentRepository.existsById(departmentId);
+    }
+
+    //A reference is enough for the foreign key, the department row is not loaded
+    private Department resolveDepartment(Long departmentId) {
+        if(departmentId == null) {
+            return null;
+        }
+        if(!departmentExists(departmentId)) {
+            throw new InvalidRequestException("Department does not exist with Id:" + departmentId);
+        }
+        return departmentRepository.getReferenceById(departmentId);
+    }
+
+    //Rejects a write based on a copy the client read before the latest change. A change landing between this
+    //check and the flush is caught by the version column instead, see staleVersion
+    private void checkVersion(Employee employee, Long expectedVersion) {
+        if(expectedVersion != null && !expectedVersion.equals(employee.getVersion())) {
+            log.error("Employee with id:{} is at version:{}, client expected:{}", employee.getId(), employee.getVersion(), expectedVersion);
+            throw new PreconditionFailedException("Employee with Id:" + employee.getId() + " has been modified, current version:" + employee.getVersion());
+        }
+    }
+
+    private Employee saveWithVersionCheck(Employee employee, Long expectedVersion) {
+        try {
+            return saveAndCheckConstraints(employee);
+        } catch (OptimisticLockingFailureException e) {
+            throw staleVersion(employee, expectedVersion, e);
+        }
+    }
+
+    //A client that sent If-Match gets 412 whether checkVersion or the version column saw the change first.
+    //Without If-Match the race stays an OptimisticLockingFailureException, answered with 409
+    private RuntimeException staleVersion(Employee employee, Long expectedVersion, OptimisticLockingFailureException e) {
+        if(expectedVersion == null) {
+            return e;
+        }
+        log.error("Employee with id:{} changed after the version check, client expected:{}", employee.getId(), expectedVersion);
+        return new PreconditionFailedException("Employee with Id:" + employee.getId() + " has been modified, expected version:" + expectedVersion);
+    }
+
+    //The constraints a client can break answer 409 or 400, anything else is rethrown as is
+    private Employee saveAndCheckConstraints(Employee employee) {
+        try {
+            return employeeRepository.saveAndFlush(employee);
+        } catch (DataIntegrityViolationException e) {
+            if(ConstraintViolations.isViolationOf(e, Employee.UNIQUE_EMAIL_CONSTRAINT)) {
+                log.error("Employee with email already exists");
+                throw new RuntimeConflictException("Employee already exists with Email:" + employee.getEmail());
+            }
+            if(ConstraintViolations.isViolationOf(e, Employee.DEPARTMENT_FOREIGN_KEY)) {
+                Long departmentId = employee.getDepartment().getId();
+                log.error("Department with id:{} was deleted before the employee was saved", departmentId);
+                throw new InvalidRequestException("Department does not exist with Id:" + departmentId);
+            }
+            throw e;
+        }
+    }
+
+    private List<Employee> saveAllAndCheckConstraints(List<Employee> employees, Set<String> emails) {
+        try {
+            //Flush here so a concurrent insert of the same email surfaces as a conflict and not at commit
+            return employeeRepository.saveAllAndFlush(employees);
+        } catch (DataIntegrityViolationException e) {
+            if(ConstraintViolations.isViolationOf(e, Employee.UNIQUE_EMAIL_CONSTRAINT)) {
+                log.error("Employees with emails already exist");
+                throw new RuntimeConflictException("Employees already exist with Emails:" + emails);
+            }
+            if(ConstraintViolations.isViolationOf(e, Employee.DEPARTMENT_FOREIGN_KEY)) {
+                Set<Long> departmentIds = employees.stream()
+                        .filter(employee -> employee.getDepartment() != null)
+                        .map(employee -> employee.getDepartment().getId())
+                        .collect(Collectors.toCollection(TreeSet::new));
+                log.error("One of the departments:{} was deleted before the employees were saved", departmentIds);
+                throw new InvalidRequestException("One of the departments does not exist:" + departmentIds);
+            }
+            throw e;
+        }
+    }
+
+    private static String emailKey(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private void validateBulkSize(int size) {
+        if(size > MAX_BULK_SIZE) {
+            throw new InvalidRequestException("At most " + MAX_BULK_SIZE + " employees can be sent in one request");
+        }
+    }
+
+    private Set<String> collectUniqueEmails(List<EmployeeDTO> employeeDTOs) {
+        Set<String> emails = new HashSet<>();
+        Set<String> keys = new HashSet<>();
+        List<String> duplicates = new ArrayList<>();
+        for(EmployeeDTO employeeDTO : employeeDTOs) {
+            if(employeeDTO.getEmail() == null) {
+                continue;
+            }
+            if(keys.add(emailKey(employeeDTO.getEmail()))) {
+                emails.add(employeeDTO.getEmail());
+            } else {
+                duplicates.add(employeeDTO.getEmail());
+            }
+        }
+        if(!duplicates.isEmpty()) {
+            throw new RuntimeConflictException("Duplicate Emails in request:" + duplicates);
+        }
+        return emails;
     }
 
     public Boolean doesEmployeeExist(Long employeeId) {
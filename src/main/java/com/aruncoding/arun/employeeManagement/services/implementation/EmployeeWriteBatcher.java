@@ -0,0 +1,214 @@
+package com.aruncoding.arun.employeeManagement.services.implementation;
+
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.services.EmployeeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Group commit for POST /employee and PATCH /employee/{id}, enabled with employee.write-batching.enabled.
+ * Callers queue their write and wait; one thread takes up to max-batch-size writes, waiting at most max-delay
+ * for more to arrive, and runs them through EmployeeService in one transaction, so a burst pays one commit
+ * instead of one per row. When any write of a batch fails the whole batch is rolled back and its writes are run
+ * again one by one, each in its own transaction, so every caller still gets exactly its own result or error.
+ * A write not picked up within max-wait is taken back from the queue and run on the caller's thread; once picked
+ * up it is waited for, its batch transaction is bounded by transaction-timeout.
+ */
+@Component
+@Slf4j
+public class EmployeeWriteBatcher {
+
+    private final EmployeeService employeeService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final long maxWaitNanos;
+    private final BlockingQueue<Write> queue;
+    private final DistributionSummary batchSizes;
+    private final Counter fallbacks;
+    private final Thread flusher;
+    private volatile boolean running;
+
+    public EmployeeWriteBatcher(EmployeeService employeeService,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${employee.write-batching.enabled:false}") boolean enabled,
+                                @Value("${employee.write-batching.max-batch-size:50}") int maxBatchSize,
+                                @Value("${employee.write-batching.max-delay:2ms}") Duration maxDelay,
+                                @Value("${employee.write-batching.queue-capacity:1000}") int queueCapacity,
+                                @Value("${employee.write-batching.max-wait:1s}") Duration maxWait,
+                                @Value("${employee.write-batching.transaction-timeout:10s}") Duration transactionTimeout) {
+        if (maxBatchSize < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("employee.write-batching.max-batch-size and queue-capacity must be positive");
+        }
+        this.employeeService = employeeService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setTimeout((int) transactionTimeout.toSeconds());
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.maxWaitNanos = maxWait.toNanos();
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.batchSizes = DistributionSummary.builder("employee.write-batch.size")
+                .description("Writes committed together")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("employee.write-batch.fallbacks")
+                .description("Batches rolled back and rerun one write at a time")
+                .register(meterRegistry);
+        this.running = enabled;
+        this.flusher = enabled ? Thread.ofPlatform().name("employee-write-batcher").daemon().start(this::run) : null;
+    }
+
+    public EmployeeDTO saveEmployee(EmployeeDTO employeeDTO) {
+        return submit(() -> employeeService.saveEmployee(employeeDTO));
+    }
+
+    public EmployeeDTO patchEmployeeDetails(Long employeeId, Map<String, Object> updates, Long expectedVersion) {
+        return submit(() -> employeeService.patchEmployeeDetails(employeeId, updates, expectedVersion));
+    }
+
+    private EmployeeDTO submit(Supplier<EmployeeDTO> action) {
+        if (!running) {
+            return action.get();
+        }
+        Write write = new Write(action, new CompletableFuture<>());
+        //A full queue means the database is already behind, the caller then writes on its own thread
+        if (!queue.offer(write)) {
+            return action.get();
+        }
+        try {
+            return write.result.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            //Still queued means the flusher is behind or gone, the caller then writes on its own thread
+            if (queue.remove(write)) {
+                log.warn("Employee write not picked up within {} ms, writing it unbatched", TimeUnit.NANOSECONDS.toMillis(maxWaitNanos));
+                return action.get();
+            }
+            return await(write);
+        } catch (InterruptedException e) {
+            //Not written if it was still queued, otherwise it completes without anyone waiting for it
+            queue.remove(write);
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    //Picked up by the flusher, which completes every write it takes whatever happens to the batch
+    private EmployeeDTO await(Write write) {
+        try {
+            return write.result.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new CompletionException(cause);
+    }
+
+    //Not interrupted on shutdown, an interrupt could break the JDBC call of a batch in progress
+    private void run() {
+        List<Write> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Write first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    Write next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable e) {
+                //Errors included: a flusher that died would leave every later caller waiting for max-wait
+                log.error("Employee write batch failed", e);
+                batch.forEach(write -> write.result.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void flush(List<Write> batch) {
+        batchSizes.record(batch.size());
+        if (batch.size() == 1) {
+            runAlone(batch.get(0));
+            return;
+        }
+        List<EmployeeDTO> results;
+        try {
+            //The service methods join this transaction, each write is flushed but nothing commits until all are done
+            results = transactionTemplate.execute(status -> batch.stream().map(write -> write.action.get()).toList());
+        } catch (RuntimeException e) {
+            log.debug("Batch of {} employee writes rolled back, running them one by one: {}", batch.size(), e.getMessage());
+            fallbacks.increment();
+            //Writes that succeed alone put their committed result in the employees cache again
+            batch.forEach(this::runAlone);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result.complete(results.get(i));
+        }
+    }
+
+    private void runAlone(Write write) {
+        try {
+            write.result.complete(write.action.get());
+        } catch (RuntimeException | Error e) {
+            write.result.completeExceptionally(e);
+        }
+    }
+
+    //Queued writes are still committed, new ones run on the caller's thread
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+            List<Write> left = new ArrayList<>();
+            queue.drainTo(left);
+            left.forEach(this::runAlone);
+        }
+    }
+
+    record Write(Supplier<EmployeeDTO> action, CompletableFuture<EmployeeDTO> result) {
+    }
+}
@@ -0,0 +1,231 @@
+package com.aruncoding.arun.employeeManagement.services.implementation;
+
+import com.aruncoding.arun.employeeManagement.configs.CacheConfig;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDetailsDTO;
+import com.aruncoding.arun.employeeManagement.entities.Employee;
+import com.aruncoding.arun.employeeManagement.entities.EmployeeChange;
+import com.aruncoding.arun.employeeManagement.entities.ReactiveEmployee;
+import com.aruncoding.arun.employeeManagement.entities.ReactiveEmployeeChange;
+import com.aruncoding.arun.employeeManagement.exceptions.InvalidRequestException;
+import com.aruncoding.arun.employeeManagement.exceptions.ResourceNotFoundException;
+import com.aruncoding.arun.employeeManagement.exceptions.RuntimeConflictException;
+import com.aruncoding.arun.employeeManagement.mappers.ReactiveEmployeeMapper;
+import com.aruncoding.arun.employeeManagement.repositories.ReactiveDepartmentRepository;
+import com.aruncoding.arun.employeeManagement.repositories.ReactiveEmployeeIdGenerator;
+import com.aruncoding.arun.employeeManagement.repositories.ReactiveEmployeeRepository;
+import com.aruncoding.arun.employeeManagement.services.ReactiveEmployeeService;
+import com.aruncoding.arun.employeeManagement.utils.EntityPatcher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+    //Rows requested from the driver at a time while streaming, refilled as the client drains them
+    private static final int STREAM_PREFETCH = 256;
+
+    private final ReactiveEmployeeRepository reactiveEmployeeRepository;
+    private final ReactiveDepartmentRepository reactiveDepartmentRepository;
+    private final ReactiveEmployeeIdGenerator reactiveEmployeeIdGenerator;
+    private final R2dbcEntityTemplate r2dbcEntityTemplate;
+    private final ReactiveEmployeeMapper reactiveEmployeeMapper;
+    private final EntityPatcher<ReactiveEmployee> reactiveEmployeePatcher;
+    private final TransactionalOperator reactiveTransactionalOperator;
+    private final CacheManager cacheManager;
+    //Titles come from the same in-memory snapshot as on the MVC side, only a reload after its TTL queries the database
+    private final DepartmentCache departmentCache;
+
+
+    @Override
+    public Mono<EmployeeDTO> fetchEmployeeById(Long id) {
+        log.debug("Fetching employee reactively with id:{}",id);
+        return findEmployee(id)
+                .map(employee -> toDTO(employee));
+    }
+
+    @Override
+    public Flux<EmployeeDTO> fetchAllEmployees() {
+        log.debug("Streaming all employees reactively");
+        return reactiveEmployeeRepository.findAllByOrderByIdAsc()
+                .limitRate(STREAM_PREFETCH)
+                .map(employee -> toDTO(employee));
+    }
+
+    @Override
+    public Mono<EmployeeDetailsDTO> fetchEmployeeDetailsById(Long id) {
+        log.debug("Fetching employee reactively with department, id:{}",id);
+        return findEmployee(id)
+                .flatMap(employee -> {
+                    EmployeeDetailsDTO details = toDetailsDTO(employee);
+                    if(employee.getDepartmentId() == null) {
+                        return Mono.just(details);
+                    }
+                    return reactiveDepartmentRepository.findById(employee.getDepartmentId())
+                            .map(department -> {
+                                details.setDepartment(reactiveEmployeeMapper.toDTO(department));
+                                return details;
+                            })
+                            .defaultIfEmpty(details);
+                });
+    }
+
+    @Override
+    public Mono<EmployeeDTO> saveEmployee(EmployeeDTO employeeDTO) {
+        log.debug("Saving employee reactively with email:{}",employeeDTO.getEmail());
+        ReactiveEmployee employeeToBeSaved = reactiveEmployeeMapper.toEntity(employeeDTO);
+        //The id is assigned up front, so insert explicitly instead of letting save() guess an update.
+        //It is taken before the transaction, a block reservation must not hold the employee_seq lock until commit
+        return validateDepartment(employeeDTO.getDepartmentId())
+                .then(reactiveEmployeeIdGenerator.nextId())
+                .flatMap(id -> {
+                    employeeToBeSaved.setId(id);
+                    return r2dbcEntityTemplate.insert(employeeToBeSaved)
+                            .flatMap(employee -> recordChange(EmployeeChange.ChangeType.CREATED, employee))
+                            .as(reactiveTransactionalOperator::transactional);
+                })
+                .onErrorMap(DataIntegrityViolationException.class, e -> toConflict(e, employeeDTO.getEmail()))
+                .map(employee -> toDTO(employee));
+    }
+
+    @Override
+    public Mono<EmployeeDTO> updateEmployee(Long id, EmployeeDTO employeeDTO) {
+        log.debug("Updating employee reactively with id:{}",id);
+        return validateDepartment(employeeDTO.getDepartmentId())
+                .then(findEmployee(id))
+                .flatMap(employee -> {
+                    employee.setAge(employeeDTO.getAge());
+                    employee.setName(employeeDTO.getName());
+                    employee.setSalary(employeeDTO.getSalary());
+                    employee.setEmail(employeeDTO.getEmail());
+                    //PUT replaces the whole employee, so a missing departmentId takes the employee out of its department
+                    employee.setDepartmentId(employeeDTO.getDepartmentId());
+                    return reactiveEmployeeRepository.save(employee);
+                })
+                .flatMap(employee -> recordChange(EmployeeChange.ChangeType.UPDATED, employee))
+                .as(reactiveTransactionalOperator::transactional)
+                .onErrorMap(DataIntegrityViolationException.class, e -> toConflict(e, employeeDTO.getEmail()))
+                .map(employee -> toDTO(employee))
+                .doOnSuccess(updated -> evictCached(id));
+    }
+
+    @Override
+    public Mono<Boolean> deleteEmployee(Long id) {
+        log.debug("Deleting employee reactively with id:{}",id);
+        return reactiveEmployeeRepository.existsById(id)
+                .flatMap(exists -> {
+                    if(!exists) {
+                        log.error("Employee with id:{} not found", id);
+                        return Mono.error(new ResourceNotFoundException("Employee not found with Id:" + id));
+                    }
+                    return reactiveEmployeeRepository.deleteById(id)
+                            .then(r2dbcEntityTemplate.insert(ReactiveEmployeeChange.builder()
+                                    .employeeId(id)
+                                    .changeType(EmployeeChange.ChangeType.DELETED)
+                                    .changedAt(LocalDateTime.now())
+                                    .build()))
+                            .thenReturn(true);
+                })
+                .as(reactiveTransactionalOperator::transactional)
+                .doOnSuccess(deleted -> evictCached(id));
+    }
+
+    @Override
+    public Mono<EmployeeDTO> patchEmployeeDetails(Long employeeId, Map<String, Object> updates) {
+        log.debug("Updating employee reactively with id:{}",employeeId);
+        //Unknown fields and bad values are rejected before touching the database
+        return Mono.fromCallable(() -> reactiveEmployeePatcher.prepare(updates))
+                .flatMap(validUpdates -> findEmployee(employeeId)
+                        .flatMap(employee -> {
+                            reactiveEmployeePatcher.apply(employee, validUpdates);
+                            return reactiveEmployeeRepository.save(employee);
+                        })
+                        .flatMap(employee -> recordChange(EmployeeChange.ChangeType.UPDATED, employee)))
+                .as(reactiveTransactionalOperator::transactional)
+                .onErrorMap(DataIntegrityViolationException.class, e -> toConflict(e, String.valueOf(updates.get("email"))))
+                .map(employee -> toDTO(employee))
+                .doOnSuccess(patched -> evictCached(employeeId));
+    }
+
+    //Same rule as EmployeeServiceImpl: no department is fine, an unknown one is rejected before writing
+    private Mono<Void> validateDepartment(Long departmentId) {
+        if(departmentId == null) {
+            return Mono.empty();
+        }
+        return reactiveDepartmentRepository.existsById(departmentId)
+                .flatMap(exists -> exists ? Mono.<Void>empty()
+                        : Mono.error(new InvalidRequestException("Department does not exist with Id:" + departmentId)));
+    }
+
+    private Mono<ReactiveEmployee> findEmployee(Long id) {
+        return reactiveEmployeeRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> {
+                    log.error("Employee with id:{} not found", id);
+                    return new ResourceNotFoundException("Employee not found with Id:" + id);
+                }));
+    }
+
+    //Outbox row of the write, inserted last so only the commit runs between its id being taken and it becoming
+    //visible, like the batch EmployeeChangeServiceImpl inserts before commit
+    private Mono<ReactiveEmployee> recordChange(EmployeeChange.ChangeType changeType, ReactiveEmployee employee) {
+        return r2dbcEntityTemplate.insert(ReactiveEmployeeChange.builder()
+                        .employeeId(employee.getId())
+                        .changeType(changeType)
+                        .version(employee.getVersion())
+                        .name(employee.getName())
+                        .email(employee.getEmail())
+                        .age(employee.getAge())
+                        .salary(employee.getSalary())
+                        .departmentId(employee.getDepartmentId())
+                        .changedAt(LocalDateTime.now())
+                        .build())
+                .thenReturn(employee);
+    }
+
+    private EmployeeDTO toDTO(ReactiveEmployee employee) {
+        return departmentCache.fillTitle(reactiveEmployeeMapper.toDTO(employee));
+    }
+
+    private EmployeeDetailsDTO toDetailsDTO(ReactiveEmployee employee) {
+        return EmployeeDetailsDTO.builder()
+                .id(employee.getId())
+                .name(employee.getName())
+                .email(employee.getEmail())
+                .age(employee.getAge())
+                .salary(employee.getSalary())
+                .build();
+    }
+
+    //R2DBC drivers do not expose the constraint name, it is part of the message on both MySQL and H2
+    private Throwable toConflict(DataIntegrityViolationException e, String email) {
+        String message = e.getMessage();
+        if(message != null && message.toLowerCase(Locale.ROOT).contains(Employee.UNIQUE_EMAIL_CONSTRAINT)) {
+            log.error("Employee with email already exists");
+            return new RuntimeConflictException("Employee already exists with Email:" + email);
+        }
+        return e;
+    }
+
+    //The MVC read path caches employees by id, writes made here must not leave a stale copy behind
+    private void evictCached(Long id) {
+        Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+        if(cache != null) {
+            cache.evict(id);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.aruncoding.arun.employeeManagement.utils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Local date-time truncated to a fixed resolution and kept pre-formatted, so callers that stamp every
+ * response pay for a clock read instead of a LocalDateTime allocation and formatting each time.
+ * The format matches how Jackson writes a LocalDateTime (ISO-8601 without offset).
+ */
+public final class CoarseClock {
+
+    private final Clock clock;
+    private final long resolutionMillis;
+    private volatile Tick tick;
+
+    public CoarseClock(Duration resolution) {
+        this(Clock.systemDefaultZone(), resolution);
+    }
+
+    public CoarseClock(Clock clock, Duration resolution) {
+        if (resolution.toMillis() < 1) {
+            throw new IllegalArgumentException("Resolution must be at least 1ms");
+        }
+        this.clock = clock;
+        this.resolutionMillis = resolution.toMillis();
+        this.tick = tickOf(clock.millis());
+    }
+
+    public String isoLocalDateTime() {
+        long now = clock.millis();
+        Tick current = tick;
+        if (now >= current.startMillis && now - current.startMillis < resolutionMillis) {
+            return current.formatted;
+        }
+        //Racing threads may format the same tick twice, both results are equal so either one can win
+        Tick next = tickOf(now);
+        tick = next;
+        return next.formatted;
+    }
+
+    private Tick tickOf(long millis) {
+        long startMillis = millis - millis % resolutionMillis;
+        String formatted = LocalDateTime.ofInstant(Instant.ofEpochMilli(startMillis), clock.getZone())
+                .format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        return new Tick(startMillis, formatted);
+    }
+
+    private record Tick(long startMillis, String formatted) {
+    }
+}
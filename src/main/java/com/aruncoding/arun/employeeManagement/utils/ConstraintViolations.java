@@ -0,0 +1,46 @@
+package com.aruncoding.arun.employeeManagement.utils;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Tells which constraint a DataIntegrityViolationException broke, from the name Hibernate extracts from the
+ * driver error. Not every violation has one: a NOT NULL column or a value too long for its column is reported
+ * without a name. Names are compared in lower case with Locale.ROOT, the JVM locale must not change the match.
+ */
+public final class ConstraintViolations {
+
+    private ConstraintViolations() {
+    }
+
+    public static boolean isViolationOf(DataIntegrityViolationException e, String constraintName) {
+        String violated = constraintName(e);
+        if (violated != null && violated.toLowerCase(Locale.ROOT).contains(constraintName)) {
+            return true;
+        }
+        //Hibernate cuts the first character off H2 foreign key names, the driver message still has the full name
+        String message = driverMessage(e);
+        return message != null && message.toLowerCase(Locale.ROOT).contains(constraintName);
+    }
+
+    public static String constraintName(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName();
+            }
+        }
+        return null;
+    }
+
+    private static String driverMessage(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                return sqlException.getMessage();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,152 @@
+package com.aruncoding.arun.employeeManagement.utils;
+
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDetailsDTO;
+import com.aruncoding.arun.employeeManagement.exceptions.InvalidRequestException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Writes exported employees one row at a time, flat columns with the department inlined.
+ * Nothing is kept after a row is written, so memory does not depend on the number of rows.
+ */
+public abstract class EmployeeExportWriter implements Closeable {
+
+    public enum Format {
+        CSV("text/csv"),
+        NDJSON("application/x-ndjson");
+
+        private final String mediaType;
+
+        Format(String mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public String mediaType() {
+            return mediaType;
+        }
+
+        public String fileName() {
+            return "employees." + name().toLowerCase(Locale.ROOT);
+        }
+
+        public static Format from(String format) {
+            try {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidRequestException("Unsupported export format:" + format);
+            }
+        }
+    }
+
+    public static EmployeeExportWriter create(Format format, OutputStream outputStream, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvWriter(outputStream);
+            case NDJSON -> new NdjsonWriter(objectMapper.getFactory().createGenerator(outputStream));
+        };
+    }
+
+    public abstract void write(EmployeeDetailsDTO employee) throws IOException;
+
+    private static final class CsvWriter extends EmployeeExportWriter {
+
+        private static final String HEADER = "id,name,email,age,salary,departmentId,departmentTitle";
+
+        private final Writer writer;
+
+        private CsvWriter(OutputStream outputStream) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writer.write(HEADER);
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(EmployeeDetailsDTO employee) throws IOException {
+            writer.write(String.valueOf(employee.getId()));
+            writer.write(',');
+            writeText(employee.getName());
+            writer.write(',');
+            writeText(employee.getEmail());
+            writer.write(',');
+            writer.write(String.valueOf(employee.getAge()));
+            writer.write(',');
+            if (employee.getSalary() != null) {
+                writer.write(employee.getSalary().toString());
+            }
+            writer.write(',');
+            if (employee.getDepartment() != null) {
+                writer.write(String.valueOf(employee.getDepartment().getId()));
+                writer.write(',');
+                writeText(employee.getDepartment().getTitle());
+            } else {
+                writer.write(',');
+            }
+            writer.write("\r\n");
+        }
+
+        //RFC 4180: quote the field when it holds a separator, quote or line break and double the quotes inside
+        private void writeText(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    private static final class NdjsonWriter extends EmployeeExportWriter {
+
+        private final JsonGenerator generator;
+
+        private NdjsonWriter(JsonGenerator generator) {
+            this.generator = generator;
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(EmployeeDetailsDTO employee) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", employee.getId());
+            generator.writeStringField("name", employee.getName());
+            generator.writeStringField("email", employee.getEmail());
+            generator.writeNumberField("age", employee.getAge());
+            if (employee.getSalary() != null) {
+                generator.writeNumberField("salary", employee.getSalary());
+            } else {
+                generator.writeNullField("salary");
+            }
+            if (employee.getDepartment() != null) {
+                generator.writeNumberField("departmentId", employee.getDepartment().getId());
+                generator.writeStringField("departmentTitle", employee.getDepartment().getTitle());
+            } else {
+                generator.writeNullField("departmentId");
+                generator.writeNullField("departmentTitle");
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.aruncoding.arun.employeeManagement.utils;
+
+import com.aruncoding.arun.employeeManagement.exceptions.InvalidRequestException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.util.ClassUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Applies partial updates to an entity through a table of setters that is built once, when the
+ * patcher is created. Each setter is a {@link BiConsumer} spun with {@link LambdaMetafactory}, so
+ * applying a patch is a map lookup plus a direct call, without reflection per request.
+ * Only whitelisted properties can be patched and incoming values are converted to the property type.
+ */
+public class EntityPatcher<T> {
+
+    private static final Set<Class<?>> INTEGRAL_TYPES = Set.of(Byte.class, Short.class, Integer.class, Long.class, BigInteger.class);
+
+    private final Class<T> entityType;
+
+    private final Map<String, PropertySetter<T>> setters;
+
+    private final ConversionService conversionService;
+
+    public EntityPatcher(Class<T> entityType, Set<String> patchableProperties, ConversionService conversionService) {
+        this.entityType = entityType;
+        this.conversionService = conversionService;
+        Map<String, PropertySetter<T>> table = new LinkedHashMap<>();
+        for (String property : patchableProperties) {
+            table.put(property, createSetter(property));
+        }
+        this.setters = Map.copyOf(table);
+    }
+
+    public Set<String> getPatchableProperties() {
+        return setters.keySet();
+    }
+
+    /**
+     * Validates the requested updates and converts every value to its property type.
+     * Meant to be called before loading the entity so bad requests never reach the database.
+     */
+    public Map<String, Object> prepare(Map<String, Object> updates) {
+        List<String> unknown = updates.keySet().stream()
+                .filter(property -> !setters.containsKey(property))
+                .sorted()
+                .toList();
+        if (!unknown.isEmpty()) {
+            throw new InvalidRequestException("Fields can not be patched:" + unknown);
+        }
+        Map<String, Object> converted = new LinkedHashMap<>(updates.size());
+        updates.forEach((property, value) -> converted.put(property, convert(property, value)));
+        return converted;
+    }
+
+    //Expects updates returned by prepare
+    public void apply(T entity, Map<String, Object> preparedUpdates) {
+        preparedUpdates.forEach((property, value) -> setters.get(property).setter().accept(entity, value));
+    }
+
+    private Object convert(String property, Object value) {
+        Class<?> type = setters.get(property).type();
+        if (value == null) {
+            if (type.isPrimitive()) {
+                throw new InvalidRequestException("Field " + property + " can not be null");
+            }
+            return null;
+        }
+        Class<?> targetType = ClassUtils.resolvePrimitiveIfNecessary(type);
+        //The conversion service would truncate 30.7 to 30 for an integer field, storing a value the client never sent
+        if (INTEGRAL_TYPES.contains(targetType) && value instanceof Number number && !isWholeNumber(number)) {
+            throw new InvalidRequestException("Invalid value for field " + property + ":" + value);
+        }
+        try {
+            return conversionService.convert(value, targetType);
+        } catch (ConversionException e) {
+            throw new InvalidRequestException("Invalid value for field " + property + ":" + value);
+        }
+    }
+
+    private static boolean isWholeNumber(Number number) {
+        if (number instanceof BigDecimal decimal) {
+            return decimal.signum() == 0 || decimal.stripTrailingZeros().scale() <= 0;
+        }
+        if (number instanceof Double || number instanceof Float) {
+            double value = number.doubleValue();
+            return Double.isFinite(value) && value == Math.rint(value);
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private PropertySetter<T> createSetter(String property) {
+        PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(entityType, property);
+        if (descriptor == null || descriptor.getWriteMethod() == null) {
+            throw new IllegalStateException("No setter for " + entityType.getSimpleName() + "." + property);
+        }
+        Method writeMethod = descriptor.getWriteMethod();
+        Class<?> type = writeMethod.getParameterTypes()[0];
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = lookup.unreflect(writeMethod);
+            CallSite site = LambdaMetafactory.metafactory(
+                    lookup,
+                    "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(void.class, entityType, ClassUtils.resolvePrimitiveIfNecessary(type)));
+            BiConsumer<T, Object> setter = (BiConsumer<T, Object>) site.getTarget().invokeExact();
+            return new PropertySetter<>(type, setter);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not create setter for " + entityType.getSimpleName() + "." + property, e);
+        }
+    }
+
+    private record PropertySetter<T>(Class<?> type, BiConsumer<T, Object> setter) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.aruncoding.arun.employeeManagement.utils;
+
+import com.aruncoding.arun.employeeManagement.exceptions.PreconditionFailedException;
+
+/**
+ * Strong ETags of employee representations, built from the row version so they change with every write.
+ * If-Match compares strongly, a weak tag (W/"1") or a list of tags never matches a single version.
+ */
+public final class EntityTags {
+
+    private static final String ANY = "*";
+
+    private EntityTags() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    //Version the client expects, or null when it sent no If-Match or If-Match: *
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new PreconditionFailedException("If-Match does not match the current version:" + ifMatch);
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not match the current version:" + ifMatch);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.aruncoding.arun.employeeManagement.utils;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary. Has to sit behind a
+ * LazyConnectionDataSourceProxy: the transaction manager only flags a transaction read-only after it has begun,
+ * so the physical connection must not be fetched before the first statement.
+ * Replicas are probed every checkInterval; one further behind than maxLag, or whose lag cannot be read, is
+ * skipped until a later probe finds it caught up. With no replica left, reads go to the primary.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    public enum Selection { ROUND_ROBIN, LEAST_CONNECTIONS }
+
+    @FunctionalInterface
+    public interface LagProbe {
+        //null when the replica cannot tell, e.g. replication is stopped
+        Duration lag(DataSource replica) throws SQLException;
+    }
+
+    //MySQL 8.0.22+, the user needs REPLICATION CLIENT. Seconds_Behind_Source is NULL while replication is stopped
+    public static final LagProbe MYSQL_LAG_PROBE = replica -> {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (!resultSet.next()) {
+                return null;
+            }
+            long seconds = resultSet.getLong("Seconds_Behind_Source");
+            return resultSet.wasNull() ? null : Duration.ofSeconds(seconds);
+        }
+    };
+
+    private static final String PRIMARY = "primary";
+
+    private final List<Replica> replicas;
+    private final Selection selection;
+    private final LagProbe lagProbe;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private ScheduledExecutorService lagChecker;
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, Selection selection,
+                                      LagProbe lagProbe, Duration maxLag, Duration checkInterval) {
+        this.replicas = IntStream.range(0, replicas.size())
+                .mapToObj(index -> new Replica("replica-" + index, replicas.get(index)))
+                .toList();
+        this.selection = selection;
+        this.lagProbe = lagProbe;
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        this.replicas.forEach(replica -> targets.put(replica.key, replica.dataSource));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        if (replicas.isEmpty()) {
+            log.warn("Read replica routing is enabled without replicas, every read goes to the primary");
+            return;
+        }
+        //Replicas start out unavailable, the first probe runs before the pool is handed out
+        checkReplicas();
+        lagChecker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("replica-lag-check").daemon().factory());
+        lagChecker.scheduleWithFixedDelay(this::checkReplicas, checkInterval.toMillis(), checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        Replica replica = selection == Selection.LEAST_CONNECTIONS ? leastConnections() : roundRobin();
+        return replica == null ? PRIMARY : replica.key;
+    }
+
+    private Replica roundRobin() {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int offset = 0; offset < size; offset++) {
+            Replica replica = replicas.get((start + offset) % size);
+            if (replica.available) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private Replica leastConnections() {
+        Replica least = null;
+        int leastActive = Integer.MAX_VALUE;
+        for (Replica replica : replicas) {
+            if (!replica.available) {
+                continue;
+            }
+            //The pool MXBean only exists once the pool has started
+            HikariPoolMXBean pool = replica.dataSource.getHikariPoolMXBean();
+            int active = pool == null ? 0 : pool.getActiveConnections();
+            if (active < leastActive) {
+                least = replica;
+                leastActive = active;
+            }
+        }
+        return least;
+    }
+
+    //Logs only when a replica changes state, a probe failing every second would flood the log otherwise
+    void checkReplicas() {
+        for (Replica replica : replicas) {
+            String unavailableReason;
+            try {
+                Duration lag = lagProbe.lag(replica.dataSource);
+                unavailableReason = lag == null ? "replication status unknown"
+                        : lag.compareTo(maxLag) > 0 ? "behind by " + lag + ", allowed " + maxLag : null;
+            } catch (SQLException | RuntimeException e) {
+                unavailableReason = "lag check failed: " + e.getMessage();
+            }
+            boolean available = unavailableReason == null;
+            if (available && !replica.available) {
+                log.info("Replica {} is used for reads", replica.key);
+            } else if (!available && (replica.available || !replica.checked)) {
+                log.warn("Replica {} is not used for reads, {}", replica.key, unavailableReason);
+            }
+            replica.available = available;
+            replica.checked = true;
+        }
+    }
+
+    //Closes the pools this data source routes to, the primary included
+    @Override
+    public void close() {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+        for (DataSource dataSource : getResolvedDataSources().values()) {
+            if (dataSource instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (IOException e) {
+                    log.warn("Could not close data source: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static final class Replica {
+
+        private final String key;
+        private final HikariDataSource dataSource;
+        private volatile boolean available;
+        private boolean checked;
+
+        private Replica(String key, HikariDataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+    }
+}
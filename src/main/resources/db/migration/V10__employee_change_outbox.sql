@@ -0,0 +1,17 @@
+-- Outbox of employee writes, inserted in the same transaction as the write itself. id is the sequence number
+-- consumers of GET /employee/changes?since= resume from; the row holds the employee as written (empty for deletes)
+CREATE TABLE employee_change
+(
+    id          BIGINT AUTO_INCREMENT NOT NULL,
+    employee_id BIGINT                NOT NULL,
+    change_type VARCHAR(16)           NOT NULL,
+    version     BIGINT                NULL,
+    name        VARCHAR(255)          NULL,
+    email       VARCHAR(255)          NULL,
+    age         INT                   NULL,
+    salary      DOUBLE                NULL,
+    changed_at  DATETIME(6)           NOT NULL,
+    CONSTRAINT pk_employee_change PRIMARY KEY (id)
+);
+
+CREATE INDEX ix_employee_change_changed_at ON employee_change (changed_at);
@@ -0,0 +1,6 @@
+-- Employees of a department paged by id: WHERE department_id = ? AND id > ? ORDER BY id reads this index in order.
+-- MySQL drops the index it created implicitly for FK_UNIQUE, this one covers the foreign key as well
+CREATE INDEX ix_employee_department_id ON employee (department_id, id);
+
+-- Change feed entries carry the department the employee was in after the change
+ALTER TABLE employee_change ADD COLUMN department_id BIGINT NULL;
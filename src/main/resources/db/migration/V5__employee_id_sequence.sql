@@ -0,0 +1,8 @@
+CREATE TABLE employee_seq
+(
+    next_val BIGINT NULL
+);
+-- Hibernate's pooled optimizer hands out the 50 ids below the value it reads, so start one block above the current max id
+INSERT INTO employee_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 51
+FROM employee;
@@ -0,0 +1 @@
+CREATE UNIQUE INDEX uk_employee_email ON employee (email);
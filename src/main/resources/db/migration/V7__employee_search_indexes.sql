@@ -0,0 +1,6 @@
+-- Indexes behind GET /employee/search, each filter seeks on an index instead of scanning the table
+CREATE INDEX ix_employee_name ON employee (name);
+-- Functional index (MySQL 8.0.13+), matched by the SOUNDEX(name) = SOUNDEX(?) predicate of the fuzzy name search
+CREATE INDEX ix_employee_name_soundex ON employee ((SOUNDEX(name)));
+CREATE INDEX ix_employee_age ON employee (age);
+CREATE INDEX ix_employee_salary ON employee (salary);
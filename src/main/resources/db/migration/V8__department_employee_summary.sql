@@ -0,0 +1,90 @@
+-- Per department counters behind GET /employee/stats/summary, kept current by the triggers below so the
+-- endpoint reads one row per department. department_id 0 collects employees without a department.
+CREATE TABLE department_employee_summary
+(
+    department_id BIGINT NOT NULL,
+    headcount     BIGINT NOT NULL DEFAULT 0,
+    salary_count  BIGINT NOT NULL DEFAULT 0,
+    salary_total  DOUBLE NOT NULL DEFAULT 0,
+    age_total     BIGINT NOT NULL DEFAULT 0,
+    age_under_30  BIGINT NOT NULL DEFAULT 0,
+    age_30_to_39  BIGINT NOT NULL DEFAULT 0,
+    age_40_to_49  BIGINT NOT NULL DEFAULT 0,
+    age_50_plus   BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT pk_department_employee_summary PRIMARY KEY (department_id)
+);
+
+INSERT INTO department_employee_summary (department_id, headcount, salary_count, salary_total, age_total,
+                                         age_under_30, age_30_to_39, age_40_to_49, age_50_plus)
+SELECT COALESCE(department_id, 0), COUNT(*), COUNT(salary), COALESCE(SUM(salary), 0), SUM(age),
+       SUM(age < 30), SUM(age BETWEEN 30 AND 39), SUM(age BETWEEN 40 AND 49), SUM(age >= 50)
+FROM employee
+GROUP BY COALESCE(department_id, 0);
+
+-- Triggers fire for every writer (JPA, bulk JPQL deletes, the R2DBC API) in the writing transaction.
+-- Writes to the same department serialize on its summary row.
+DELIMITER //
+
+CREATE TRIGGER trg_employee_summary_insert
+    AFTER INSERT ON employee
+    FOR EACH ROW
+BEGIN
+    INSERT INTO department_employee_summary (department_id, headcount, salary_count, salary_total, age_total,
+                                             age_under_30, age_30_to_39, age_40_to_49, age_50_plus)
+    VALUES (COALESCE(NEW.department_id, 0), 1, NEW.salary IS NOT NULL, COALESCE(NEW.salary, 0), NEW.age,
+            NEW.age < 30, NEW.age BETWEEN 30 AND 39, NEW.age BETWEEN 40 AND 49, NEW.age >= 50)
+    ON DUPLICATE KEY UPDATE headcount    = headcount + 1,
+                            salary_count = salary_count + (NEW.salary IS NOT NULL),
+                            salary_total = salary_total + COALESCE(NEW.salary, 0),
+                            age_total    = age_total + NEW.age,
+                            age_under_30 = age_under_30 + (NEW.age < 30),
+                            age_30_to_39 = age_30_to_39 + (NEW.age BETWEEN 30 AND 39),
+                            age_40_to_49 = age_40_to_49 + (NEW.age BETWEEN 40 AND 49),
+                            age_50_plus  = age_50_plus + (NEW.age >= 50);
+END//
+
+CREATE TRIGGER trg_employee_summary_delete
+    AFTER DELETE ON employee
+    FOR EACH ROW
+BEGIN
+    UPDATE department_employee_summary
+    SET headcount    = headcount - 1,
+        salary_count = salary_count - (OLD.salary IS NOT NULL),
+        salary_total = salary_total - COALESCE(OLD.salary, 0),
+        age_total    = age_total - OLD.age,
+        age_under_30 = age_under_30 - (OLD.age < 30),
+        age_30_to_39 = age_30_to_39 - (OLD.age BETWEEN 30 AND 39),
+        age_40_to_49 = age_40_to_49 - (OLD.age BETWEEN 40 AND 49),
+        age_50_plus  = age_50_plus - (OLD.age >= 50)
+    WHERE department_id = COALESCE(OLD.department_id, 0);
+END//
+
+CREATE TRIGGER trg_employee_summary_update
+    AFTER UPDATE ON employee
+    FOR EACH ROW
+BEGIN
+    UPDATE department_employee_summary
+    SET headcount    = headcount - 1,
+        salary_count = salary_count - (OLD.salary IS NOT NULL),
+        salary_total = salary_total - COALESCE(OLD.salary, 0),
+        age_total    = age_total - OLD.age,
+        age_under_30 = age_under_30 - (OLD.age < 30),
+        age_30_to_39 = age_30_to_39 - (OLD.age BETWEEN 30 AND 39),
+        age_40_to_49 = age_40_to_49 - (OLD.age BETWEEN 40 AND 49),
+        age_50_plus  = age_50_plus - (OLD.age >= 50)
+    WHERE department_id = COALESCE(OLD.department_id, 0);
+    INSERT INTO department_employee_summary (department_id, headcount, salary_count, salary_total, age_total,
+                                             age_under_30, age_30_to_39, age_40_to_49, age_50_plus)
+    VALUES (COALESCE(NEW.department_id, 0), 1, NEW.salary IS NOT NULL, COALESCE(NEW.salary, 0), NEW.age,
+            NEW.age < 30, NEW.age BETWEEN 30 AND 39, NEW.age BETWEEN 40 AND 49, NEW.age >= 50)
+    ON DUPLICATE KEY UPDATE headcount    = headcount + 1,
+                            salary_count = salary_count + (NEW.salary IS NOT NULL),
+                            salary_total = salary_total + COALESCE(NEW.salary, 0),
+                            age_total    = age_total + NEW.age,
+                            age_under_30 = age_under_30 + (NEW.age < 30),
+                            age_30_to_39 = age_30_to_39 + (NEW.age BETWEEN 30 AND 39),
+                            age_40_to_49 = age_40_to_49 + (NEW.age BETWEEN 40 AND 49),
+                            age_50_plus  = age_50_plus + (NEW.age >= 50);
+END//
+
+DELIMITER ;
@@ -0,0 +1,3 @@
+-- Optimistic locking: JPA and R2DBC writes bump the version, PUT/PATCH with If-Match compare against it
+ALTER TABLE employee
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,116 @@
+package com.aruncoding.arun.employeeManagement.advice;
+
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.utils.CoarseClock;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+class EnvelopeHttpMessageConverterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final CoarseClock coarseClock = new CoarseClock(
+            Clock.fixed(Instant.parse("2024-01-01T10:15:30.123Z"), ZoneOffset.UTC), Duration.ofMillis(10));
+
+    private final EnvelopeHttpMessageConverter converter = new EnvelopeHttpMessageConverter(objectMapper, coarseClock);
+
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp(){
+        request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown(){
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testWrite_whenRequestIsMarked_thenWriteSameJsonAsApiResponse() throws Exception {
+        //Assign
+        request.setAttribute(EnvelopeHttpMessageConverter.ENVELOPE_ATTRIBUTE, Boolean.TRUE);
+        List<EmployeeDTO> employees = List.of(new EmployeeDTO(1L, "arun", "arunamballa@gmail.com", 26, 1000.0));
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        //Act
+        converter.write(employees, MediaType.APPLICATION_JSON, outputMessage);
+        //Assert
+        JsonNode written = objectMapper.readTree(outputMessage.getBodyAsString());
+        JsonNode expected = objectMapper.valueToTree(new ApiResponse<>(employees));
+        assertThat(written.get("data")).isEqualTo(expected.get("data"));
+        assertThat(written.has("apiError")).isTrue();
+        assertThat(written.get("apiError").isNull()).isTrue();
+        assertThat(written.get("timestamp").asText()).isEqualTo("2024-01-01T10:15:30.12");
+    }
+
+    @Test
+    void testWrite_whenCborIsSelected_thenWriteSameEnvelopeInCbor() throws Exception {
+        //Assign
+        request.setAttribute(EnvelopeHttpMessageConverter.ENVELOPE_ATTRIBUTE, Boolean.TRUE);
+        ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+        EnvelopeCborHttpMessageConverter cborConverter = new EnvelopeCborHttpMessageConverter(cborMapper, coarseClock);
+        List<EmployeeDTO> employees = List.of(new EmployeeDTO(1L, "arun", "arunamballa@gmail.com", 26, 1000.0));
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        //Act
+        cborConverter.write(employees, MediaType.APPLICATION_CBOR, outputMessage);
+        //Assert
+        assertThat(cborMapper.getFactory()).isInstanceOf(CBORFactory.class);
+        JsonNode written = cborMapper.readTree(outputMessage.getBodyAsBytes());
+        assertThat(written.get("data")).isEqualTo(objectMapper.valueToTree(employees));
+        assertThat(written.get("apiError").isNull()).isTrue();
+        assertThat(written.get("timestamp").asText()).isEqualTo("2024-01-01T10:15:30.12");
+        assertThat(outputMessage.getBodyAsBytes().length).isLessThan(objectMapper.writeValueAsBytes(new ApiResponse<>(employees)).length);
+    }
+
+    @Test
+    void testWrite_whenErrorIsWrittenAfterMarkedWrite_thenWriteErrorWithoutSecondEnvelope() throws Exception {
+        //Assign
+        request.setAttribute(EnvelopeHttpMessageConverter.ENVELOPE_ATTRIBUTE, Boolean.TRUE);
+        converter.write(List.of(), MediaType.APPLICATION_JSON, new MockHttpOutputMessage());
+        ApiResponse<?> error = new ApiResponse<>(ApiError.builder()
+                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .message("Broken pipe")
+                .build());
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        //Act
+        converter.write(error, MediaType.APPLICATION_JSON, outputMessage);
+        //Assert
+        JsonNode written = objectMapper.readTree(outputMessage.getBodyAsString());
+        assertThat(written.get("data").isNull()).isTrue();
+        assertThat(written.get("apiError").get("message").asText()).isEqualTo("Broken pipe");
+        assertThat(request.getAttribute(EnvelopeHttpMessageConverter.ENVELOPE_ATTRIBUTE)).isNull();
+    }
+
+    @Test
+    void testWrite_whenRequestIsNotMarked_thenWriteBodyUnchanged() throws Exception {
+        //Assign
+        EmployeeDTO employeeDTO = new EmployeeDTO(1L, "arun", "arunamballa@gmail.com", 26, 1000.0);
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        //Act
+        converter.write(employeeDTO, MediaType.APPLICATION_JSON, outputMessage);
+        //Assert
+        assertThat(objectMapper.readTree(outputMessage.getBodyAsString()))
+                .isEqualTo(objectMapper.valueToTree(employeeDTO));
+    }
+}
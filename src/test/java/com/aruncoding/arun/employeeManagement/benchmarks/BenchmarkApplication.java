@@ -0,0 +1,47 @@
+package com.aruncoding.arun.employeeManagement.benchmarks;
+
+import com.aruncoding.arun.employeeManagement.EmployeeManagementApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application without the web layer against an in-memory H2 database, for benchmarks
+ * that need the real service and repository beans. The schema is created by Hibernate since the
+ * Flyway migrations are written for MySQL.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... extraProperties) {
+        List<String> properties = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_ON_EXIT=FALSE",
+                "spring.flyway.enabled=false",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "spring.devtools.restart.enabled=false",
+                "logging.level.root=WARN"));
+        properties.addAll(List.of(extraProperties));
+        return new SpringApplicationBuilder(EmployeeManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties.toArray(String[]::new))
+                .run();
+    }
+
+    static void insertEmployees(ConfigurableApplicationContext context, int count) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            rows.add(new Object[]{(long) i, "employee" + i, "employee" + i + "@gmail.com", 20 + i % 40, 1000.0 + i});
+        }
+        jdbcTemplate.batchUpdate("insert into employee (id, name, email, age, salary) values (?, ?, ?, ?, ?)", rows);
+        //Ids inserted here bypass the pooled generator, move it past them so saveEmployee does not collide
+        jdbcTemplate.execute("alter sequence employee_seq restart with " + (count + 51));
+    }
+}
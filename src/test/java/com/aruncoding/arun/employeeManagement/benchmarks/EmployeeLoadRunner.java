@@ -0,0 +1,86 @@
+package com.aruncoding.arun.employeeManagement.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed-loop load generator to compare the platform and virtual thread modes of a running instance.
+ * Start the application against MySQL twice, with spring.threads.virtual.enabled=false and =true, and run
+ *
+ * <pre>EmployeeLoadRunner [baseUrl] [concurrency] [requestsPerClient] [maxEmployeeId]</pre>
+ *
+ * for each. It prints throughput and latency percentiles for GET /employee/{id}. Use a concurrency well
+ * above Tomcat's 200 platform threads (e.g. 1000) to see the difference, and disable the employee cache
+ * (spring.cache.type=none) so every request waits on the database.
+ */
+public final class EmployeeLoadRunner {
+
+    private EmployeeLoadRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int requestsPerClient = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int maxEmployeeId = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        AtomicInteger errors = new AtomicInteger();
+        long start = System.nanoTime();
+        List<Future<long[]>> clients = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < concurrency; c++) {
+                int clientIndex = c;
+                clients.add(executor.submit(() -> {
+                    long[] latencies = new long[requestsPerClient];
+                    for (int r = 0; r < requestsPerClient; r++) {
+                        long id = 1 + (long) (clientIndex * requestsPerClient + r) % maxEmployeeId;
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/employee/" + id)).GET().build();
+                        long requestStart = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 500) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[r] = System.nanoTime() - requestStart;
+                    }
+                    return latencies;
+                }));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long[] all = new long[concurrency * requestsPerClient];
+        int offset = 0;
+        for (Future<long[]> future : clients) {
+            long[] latencies = future.get();
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+            offset += latencies.length;
+        }
+        Arrays.sort(all);
+        System.out.printf("requests=%d errors=%d throughput=%.0f req/s p50=%.1f ms p99=%.1f ms max=%.1f ms%n",
+                all.length, errors.get(), all.length / (elapsed / 1e9),
+                percentile(all, 0.50), percentile(all, 0.99), all[all.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+}
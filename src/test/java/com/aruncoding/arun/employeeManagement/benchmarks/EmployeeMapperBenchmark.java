@@ -0,0 +1,79 @@
+package com.aruncoding.arun.employeeManagement.benchmarks;
+
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.entities.Employee;
+import com.aruncoding.arun.employeeManagement.mappers.EmployeeMapper;
+import com.aruncoding.arun.employeeManagement.mappers.GeneratedEmployeeMapper;
+import com.aruncoding.arun.employeeManagement.mappers.ModelMapperEmployeeMapper;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per row cost of Employee -> EmployeeDTO mapping. Run {@link #main} and compare
+ * the score (ns/op) and the gc.alloc.rate.norm (bytes/op) columns of both mappers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeMapperBenchmark {
+
+    private EmployeeMapper generatedMapper;
+
+    private EmployeeMapper modelMapper;
+
+    private Employee employee;
+
+    private EmployeeDTO employeeDTO;
+
+    @Setup
+    public void setUp() {
+        generatedMapper = Mappers.getMapper(GeneratedEmployeeMapper.class);
+        modelMapper = new ModelMapperEmployeeMapper(new ModelMapper());
+        employee = Employee.builder()
+                .id(1L)
+                .name("arun")
+                .age(26)
+                .email("arunamballa@gmail.com")
+                .salary(1000.0)
+                .build();
+        employeeDTO = generatedMapper.toDTO(employee);
+    }
+
+    @Benchmark
+    public EmployeeDTO generatedToDTO() {
+        return generatedMapper.toDTO(employee);
+    }
+
+    @Benchmark
+    public EmployeeDTO modelMapperToDTO() {
+        return modelMapper.toDTO(employee);
+    }
+
+    @Benchmark
+    public void generatedToEntity(Blackhole blackhole) {
+        blackhole.consume(generatedMapper.toEntity(employeeDTO));
+    }
+
+    @Benchmark
+    public void modelMapperToEntity(Blackhole blackhole) {
+        blackhole.consume(modelMapper.toEntity(employeeDTO));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmployeeMapperBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,71 @@
+package com.aruncoding.arun.employeeManagement.benchmarks;
+
+import com.aruncoding.arun.employeeManagement.entities.Employee;
+import com.aruncoding.arun.employeeManagement.utils.EntityPatcher;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applying a three field PATCH body to an Employee: the original per request field lookup through
+ * reflection against the precompiled setters of EntityPatcher (validation and conversion included).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeePatchBenchmark {
+
+    private final Map<String, Object> updates = Map.of("name", "arun kumar", "age", 27, "salary", 2000.0);
+
+    private EntityPatcher<Employee> employeePatcher;
+
+    private Employee employee;
+
+    @Setup
+    public void setUp() {
+        employeePatcher = new EntityPatcher<>(Employee.class, Set.of("name", "email", "age", "salary"),
+                DefaultConversionService.getSharedInstance());
+        employee = Employee.builder()
+                .id(1L)
+                .name("arun")
+                .age(26)
+                .email("arunamballa@gmail.com")
+                .salary(1000.0)
+                .build();
+    }
+
+    @Benchmark
+    public Employee reflectionPatch() {
+        updates.forEach((field, value) -> {
+            Field requiredField = ReflectionUtils.findRequiredField(Employee.class, field);
+            requiredField.setAccessible(true);
+            ReflectionUtils.setField(requiredField, employee, value);
+        });
+        return employee;
+    }
+
+    @Benchmark
+    public Employee entityPatcher() {
+        employeePatcher.apply(employee, employeePatcher.prepare(updates));
+        return employee;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmployeePatchBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
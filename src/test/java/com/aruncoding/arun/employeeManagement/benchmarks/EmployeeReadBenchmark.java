@@ -0,0 +1,87 @@
+package com.aruncoding.arun.employeeManagement.benchmarks;
+
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.entities.Employee;
+import com.aruncoding.arun.employeeManagement.mappers.EmployeeMapper;
+import com.aruncoding.arun.employeeManagement.repositories.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Reads 100k employees as managed entities mapped to DTOs (the old read path, kept here as a plain JPQL query)
+ * and through findDTOsByIdGreaterThan, the projection EmployeeServiceImpl pages with. Run {@link #main};
+ * gc.alloc.rate.norm is the heap allocated per 100k rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class EmployeeReadBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeRepository employeeRepository;
+
+    private EmployeeMapper employeeMapper;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate readWriteTransaction;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        BenchmarkApplication.insertEmployees(context, ROWS);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        employeeMapper = context.getBean(EmployeeMapper.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        entityManager = context.getBean(EntityManager.class);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> entityRead() {
+        return readWriteTransaction.execute(status -> entityManager
+                .createQuery("select e from Employee e where e.id > :id order by e.id", Employee.class)
+                .setParameter("id", 0L)
+                .setMaxResults(ROWS)
+                .getResultList()
+                .stream()
+                .map(employee -> employeeMapper.toDTO(employee))
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> projectionRead() {
+        //Opens its own read-only transaction, like every page EmployeeServiceImpl serves
+        return employeeRepository.findDTOsByIdGreaterThan(0L, Limit.of(ROWS));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmployeeReadBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,108 @@
+package com.aruncoding.arun.employeeManagement.benchmarks;
+
+import com.aruncoding.arun.employeeManagement.dto.CursorPageDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.services.EmployeeService;
+import com.aruncoding.arun.employeeManagement.utils.CursorCodec;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End to end cost of the EmployeeService operations against H2 with 10k rows, through the real
+ * Spring proxies (transactions, repositories, mapping). The cache is off so every read reaches the
+ * database. Run {@link #main} or mvn -Pbenchmark verify -Djmh.include=EmployeeServiceBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeService employeeService;
+
+    private String deepCursor;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("spring.cache.type=none");
+        BenchmarkApplication.insertEmployees(context, ROWS);
+        employeeService = context.getBean(EmployeeService.class);
+        deepCursor = CursorCodec.encode((long) ROWS - 100);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public EmployeeDTO fetchEmployeeById() {
+        return employeeService.fetchEmployeeById(randomId());
+    }
+
+    @Benchmark
+    public CursorPageDTO<EmployeeDTO> fetchFirstPage() {
+        return employeeService.fetchAllEmployees(null, 50);
+    }
+
+    //Keyset paging costs the same at any depth, this should stay close to fetchFirstPage
+    @Benchmark
+    public CursorPageDTO<EmployeeDTO> fetchDeepPage() {
+        return employeeService.fetchAllEmployees(deepCursor, 50);
+    }
+
+    @Benchmark
+    public EmployeeDTO saveEmployee() {
+        long next = sequence.incrementAndGet();
+        return employeeService.saveEmployee(EmployeeDTO.builder()
+                .name("benchmark" + next)
+                .email("benchmark" + next + "@gmail.com")
+                .age(30)
+                .salary(1000.0)
+                .build());
+    }
+
+    @Benchmark
+    public EmployeeDTO updateEmployee() {
+        long id = randomId();
+        return employeeService.updateEmployee(id, EmployeeDTO.builder()
+                .name("employee" + id)
+                .email("employee" + id + "@gmail.com")
+                .age(40)
+                .salary(2000.0)
+                .build(), null);
+    }
+
+    @Benchmark
+    public EmployeeDTO patchEmployeeDetails() {
+        return employeeService.patchEmployeeDetails(randomId(), Map.of("salary", 3000.0, "age", 45), null);
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, ROWS + 1);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmployeeServiceBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
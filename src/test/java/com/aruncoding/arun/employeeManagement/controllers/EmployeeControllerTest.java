@@ -1,6 +1,7 @@
 package com.aruncoding.arun.employeeManagement.controllers;
 
 import com.aruncoding.arun.employeeManagement.advice.ApiResponse;
+import com.aruncoding.arun.employeeManagement.dto.CursorPageDTO;
 import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
 import com.aruncoding.arun.employeeManagement.entities.Employee;
 import com.aruncoding.arun.employeeManagement.repositories.EmployeeRepository;
@@ -8,6 +9,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
 
 import java.util.List;
 import java.util.Map;
@@ -59,6 +61,62 @@ class EmployeeControllerTestIT extends AbstractIntegrationTest{
     }
 
 
+    @Test
+    void testGetEmployeeById_whenETagMatches_thenNotModified() {
+        Employee savedEmployee = employeeRepository.save(testEmployee);
+        String eTag = webTestClient.get()
+                .uri("/employee/{id}",savedEmployee.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"0\"")
+                .returnResult(String.class)
+                .getResponseHeaders().getETag();
+
+        webTestClient.get()
+                .uri("/employee/{id}",savedEmployee.getId())
+                .header("If-None-Match", eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void testPatchEmployee_whenIfMatchIsStale_thenPreconditionFailed() {
+        Employee savedEmployee = employeeRepository.save(testEmployee);
+        webTestClient.patch()
+                .uri("/employee/{id}",savedEmployee.getId())
+                .header("If-Match", "\"0\"")
+                .bodyValue(Map.of("salary", 2000.0))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"1\"");
+
+        webTestClient.patch()
+                .uri("/employee/{id}",savedEmployee.getId())
+                .header("If-Match", "\"0\"")
+                .bodyValue(Map.of("salary", 3000.0))
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    void testDeleteEmployee_whenIfMatchIsStale_thenPreconditionFailed() {
+        Employee savedEmployee = employeeRepository.save(testEmployee);
+        webTestClient.patch()
+                .uri("/employee/{id}",savedEmployee.getId())
+                .bodyValue(Map.of("salary", 2000.0))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"1\"");
+
+        webTestClient.delete()
+                .uri("/employee/{id}",savedEmployee.getId())
+                .header("If-Match", "\"0\"")
+                .exchange()
+                .expectStatus().isEqualTo(412);
+        assertThat(employeeRepository.existsById(savedEmployee.getId())).isTrue();
+    }
+
     @Test
     void testGetEmployeeById_failure() {
         webTestClient.get()
@@ -182,10 +240,26 @@ class EmployeeControllerTestIT extends AbstractIntegrationTest{
                 .uri("/employee")
                 .exchange()
                 .expectStatus().isOk()
-                .expectBody(new ParameterizedTypeReference<ApiResponse<List<EmployeeDTO>>>() {})
+                .expectBody(new ParameterizedTypeReference<ApiResponse<CursorPageDTO<EmployeeDTO>>>() {})
                 .value(response -> {
-                    List<EmployeeDTO> employeeDTOList=response.getData();
+                    List<EmployeeDTO> employeeDTOList=response.getData().getContent();
                     assertThat(employeeDTOList).isNotEmpty();
+                    assertThat(response.getData().getNextCursor()).isNull();
+                });
+    }
+
+    @Test
+    void testStreamAllEmployees_whenEmployeeExists_thenStreamEmployees() {
+        Employee savedEmployee = employeeRepository.save(testEmployee);
+        webTestClient.get()
+                .uri("/employee/stream")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(EmployeeDTO.class)
+                .value(employeeDTOList -> {
+                    assertThat(employeeDTOList).hasSize(1);
+                    assertThat(employeeDTOList.get(0).getEmail()).isEqualTo(savedEmployee.getEmail());
                 });
     }
 
@@ -0,0 +1,70 @@
+package com.aruncoding.arun.employeeManagement.filters;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+
+class AccessLogFilterTest {
+
+    private Logger accessLog;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp(){
+        accessLog = mock(Logger.class);
+        when(accessLog.isInfoEnabled()).thenReturn(true);
+        request = new MockHttpServletRequest("GET", "/employee/1");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void testDoFilter_whenRequestCompletes_thenLogOneLineWithStatus() throws Exception {
+        //Assign
+        AccessLogFilter filter = new AccessLogFilter(accessLog, 1.0);
+        FilterChain chain = (req, res) -> ((HttpServletResponse) res).setStatus(HttpServletResponse.SC_NOT_FOUND);
+        //Act
+        filter.doFilter(request, response, chain);
+        //Assert
+        verify(accessLog).info(eq("method={} path={} status={} durationMs={}"),
+                eq("GET"), eq("/employee/1"), eq(404), anyString());
+    }
+
+    @Test
+    void testDoFilter_whenNotSampled_thenSkipSuccessfulRequest() throws Exception {
+        //Assign
+        AccessLogFilter filter = new AccessLogFilter(accessLog, 0.0);
+        FilterChain chain = (req, res) -> ((HttpServletResponse) res).setStatus(HttpServletResponse.SC_OK);
+        //Act
+        filter.doFilter(request, response, chain);
+        //Assert
+        verify(accessLog).isInfoEnabled();
+        verifyNoMoreInteractions(accessLog);
+    }
+
+    @Test
+    void testDoFilter_whenNotSampledAndChainFails_thenStillLogServerError() {
+        //Assign
+        AccessLogFilter filter = new AccessLogFilter(accessLog, 0.0);
+        FilterChain chain = (req, res) -> {
+            throw new IllegalStateException("boom");
+        };
+        //Act
+        assertThatThrownBy(() -> filter.doFilter(request, response, chain)).isInstanceOf(IllegalStateException.class);
+        //Assert
+        verify(accessLog).info(eq("method={} path={} status={} durationMs={}"),
+                eq("GET"), eq("/employee/1"), eq(500), anyString());
+    }
+}
@@ -0,0 +1,75 @@
+package com.aruncoding.arun.employeeManagement.mappers;
+
+import com.aruncoding.arun.employeeManagement.dto.DepartmentDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDetailsDTO;
+import com.aruncoding.arun.employeeManagement.entities.Department;
+import com.aruncoding.arun.employeeManagement.entities.Employee;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+class EmployeeMapperTest {
+
+    private final EmployeeMapper generatedMapper = Mappers.getMapper(GeneratedEmployeeMapper.class);
+
+    private final EmployeeMapper modelMapperFallback = new ModelMapperEmployeeMapper(new ModelMapper());
+
+    private final Employee employee = Employee.builder()
+            .id(1L)
+            .name("arun")
+            .age(26)
+            .email("arunamballa@gmail.com")
+            .salary(1000.0)
+            .department(new Department(3L, "Engineering"))
+            .build();
+
+    @Test
+    void testToDTO_whenMappedByBothMappers_thenResultsAreEqual() {
+        //Act
+        EmployeeDTO generated = generatedMapper.toDTO(employee);
+        EmployeeDTO reflective = modelMapperFallback.toDTO(employee);
+        //Assert
+        assertThat(generated).isEqualTo(reflective);
+        assertThat(generated.getEmail()).isEqualTo(employee.getEmail());
+        assertThat(generated.getSalary()).isEqualTo(employee.getSalary());
+        assertThat(generated.getDepartmentId()).isEqualTo(3L);
+        assertThat(generated.getDepartmentTitle()).isNull();
+    }
+
+    @Test
+    void testToEntity_whenMapped_thenIdIsNotCopied() {
+        //Assign
+        EmployeeDTO employeeDTO = generatedMapper.toDTO(employee);
+        //Act
+        Employee mapped = generatedMapper.toEntity(employeeDTO);
+        //Assert
+        assertThat(mapped.getId()).isNull();
+        assertThat(mapped.getName()).isEqualTo(employee.getName());
+        assertThat(mapped.getAge()).isEqualTo(employee.getAge());
+    }
+
+    @Test
+    void testDepartmentToDTO_whenMappedByBothMappers_thenTitleIsMapped() {
+        //Act
+        DepartmentDTO generated = generatedMapper.toDTO(employee.getDepartment());
+        DepartmentDTO reflective = modelMapperFallback.toDTO(employee.getDepartment());
+        //Assert
+        assertThat(generated.getTitle()).isEqualTo("Engineering");
+        assertThat(generated).isEqualTo(reflective);
+        assertThat(generatedMapper.toEntity(generated).getDptTitle()).isEqualTo("Engineering");
+    }
+
+    @Test
+    void testToDetailsDTO_whenMappedByBothMappers_thenDepartmentIsIncluded() {
+        //Act
+        EmployeeDetailsDTO generated = generatedMapper.toDetailsDTO(employee);
+        EmployeeDetailsDTO reflective = modelMapperFallback.toDetailsDTO(employee);
+        //Assert
+        assertThat(generated.getDepartment()).isEqualTo(new DepartmentDTO(3L, "Engineering"));
+        assertThat(generated).isEqualTo(reflective);
+    }
+}
@@ -1,10 +1,15 @@
 package com.aruncoding.arun.employeeManagement.repositories;
 
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDetailsDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeSearchCriteria;
 import com.aruncoding.arun.employeeManagement.entities.Employee;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import java.util.Optional;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 
 
@@ -30,25 +35,66 @@ class EmployeeRepositoryTest extends AbstractRepositoryTest {
 
 
     @Test
-    void testFindByEmail_whenEmailIsPresent_thenReturnEmployee() {
+    void testFindByEmailIn_whenEmailIsPresent_thenReturnEmployee() {
         //Arrange
         String email = "arunamballa@gmail.com";
         //Act
-        Optional<Employee> employeeFound = employeeRepository.findByEmail(email);
+        List<Employee> employeesFound = employeeRepository.findByEmailIn(List.of(email));
         //Assert
-        assertThat(employeeFound.get().getName()).isEqualTo(employee.getName());
-        assertThat(employeeFound.get().getEmail()).isEqualTo(email);
-        assertThat(employeeFound.get().getAge()).isEqualTo(employee.getAge());
+        assertThat(employeesFound).hasSize(1);
+        assertThat(employeesFound.get(0).getName()).isEqualTo(employee.getName());
+        assertThat(employeesFound.get(0).getEmail()).isEqualTo(email);
+        assertThat(employeesFound.get(0).getAge()).isEqualTo(employee.getAge());
     }
 
 
     @Test
-    void testFindByEmail_whenEmailIsNotPresent_thenReturnEmptyOptional() {
+    void testFindByEmailIn_whenEmailIsNotPresent_thenReturnEmptyList() {
         //Arrange
         String email = "arunamballa24@gmail.com";
         //Act
-        Optional<Employee> employeeNotFound = employeeRepository.findByEmail(email);
+        List<Employee> employeesNotFound = employeeRepository.findByEmailIn(List.of(email));
+        //Assert
+        assertThat(employeesNotFound).isEmpty();
+    }
+
+
+    @Test
+    void testFindDetailsByIdGreaterThan_whenEmployeesPresent_thenReturnEmployeesInIdOrder() {
+        //Arrange
+        Employee other = employeeRepository.save(Employee
+                        .builder()
+                        .name("varun")
+                        .age(27)
+                        .email("varun@gmail.com")
+                        .build());
+        //Act
+        List<EmployeeDetailsDTO> details = employeeRepository.findDetailsByIdGreaterThan(employee.getId(), Limit.of(10));
+        //Assert
+        assertThat(details).hasSize(1);
+        assertThat(details.get(0).getId()).isEqualTo(other.getId());
+        assertThat(details.get(0).getDepartment()).isNull();
+    }
+
+    @Test
+    void testSearchDTOs_whenNamePrefixAndAgeRangeMatch_thenReturnOnlyMatchingEmployees() {
+        //Arrange
+        employeeRepository.save(Employee.builder().name("arjun").age(40).email("arjun@gmail.com").build());
+        employeeRepository.save(Employee.builder().name("varun").age(26).email("varun@gmail.com").build());
+        EmployeeSearchCriteria criteria = EmployeeSearchCriteria.builder().name("ar").minAge(20).maxAge(30).build();
+        //Act
+        List<EmployeeDTO> found = employeeRepository.searchDTOs(criteria, 0L, Limit.of(10));
+        //Assert
+        assertThat(found).extracting(EmployeeDTO::getEmail).containsExactly("arunamballa@gmail.com");
+    }
+
+    @Test
+    void testSearchDTOs_whenFuzzyName_thenReturnSimilarSoundingNames() {
+        //Arrange
+        EmployeeSearchCriteria criteria = EmployeeSearchCriteria.builder().name("arunambala").fuzzy(true).build();
+        //Act
+        List<EmployeeDTO> found = employeeRepository.searchDTOs(criteria, 0L, Limit.of(10));
         //Assert
-        assertThat(employeeNotFound.isPresent()).isFalse();
+        assertThat(found).extracting(EmployeeDTO::getEmail).containsExactly("arunamballa@gmail.com");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,83 @@
+package com.aruncoding.arun.employeeManagement.services.implementation;
+
+import com.aruncoding.arun.employeeManagement.configs.CacheConfig;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.entities.Department;
+import com.aruncoding.arun.employeeManagement.mappers.EmployeeMapper;
+import com.aruncoding.arun.employeeManagement.mappers.GeneratedEmployeeMapper;
+import com.aruncoding.arun.employeeManagement.repositories.DepartmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+
+class DepartmentCacheTest extends AbstractServiceTest {
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    private final EmployeeMapper employeeMapper = Mappers.getMapper(GeneratedEmployeeMapper.class);
+
+    private final CacheManager cacheManager = new TransactionAwareCacheManagerProxy(new ConcurrentMapCacheManager(CacheConfig.EMPLOYEES_CACHE));
+
+    private DepartmentCache departmentCache;
+
+    @BeforeEach
+    void setUp() {
+        departmentCache = new DepartmentCache(departmentRepository, employeeMapper, cacheManager, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void testRefreshAfterCommit_whenTransactionCommits_thenEvictAfterReload() {
+        //Assign
+        when(departmentRepository.findAll())
+                .thenReturn(List.of(new Department(3L, "Engineering")))
+                .thenReturn(List.of(new Department(3L, "Platform")));
+        departmentCache.refresh();
+        Cache employees = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+        employees.put(1L, new EmployeeDTO(1L, "arun", "arunamballa@gmail.com", 26, 1000.0, 0L, 3L));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            //Act
+            departmentCache.refreshAfterCommit();
+            boolean cachedBeforeCommit = employees.get(1L) != null;
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            //Assert
+            assertThat(cachedBeforeCommit).isTrue();
+            assertThat(employees.get(1L)).isNull();
+            assertThat(departmentCache.find(3L)).get().extracting(department -> department.getTitle()).isEqualTo("Platform");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testFind_whenTtlExpired_thenReloadAndEvictEmployees() {
+        //Assign
+        DepartmentCache expiringCache = new DepartmentCache(departmentRepository, employeeMapper, cacheManager, Duration.ofMillis(-1));
+        when(departmentRepository.findAll())
+                .thenReturn(List.of(new Department(3L, "Engineering")))
+                .thenReturn(List.of(new Department(3L, "Platform")));
+        expiringCache.refresh();
+        Cache employees = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+        employees.put(1L, new EmployeeDTO(1L, "arun", "arunamballa@gmail.com", 26, 1000.0, 0L, 3L));
+        //Act
+        String title = expiringCache.find(3L).get().getTitle();
+        //Assert
+        assertThat(title).isEqualTo("Platform");
+        assertThat(employees.get(1L)).isNull();
+    }
+}
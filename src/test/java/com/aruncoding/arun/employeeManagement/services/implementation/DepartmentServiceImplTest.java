@@ -0,0 +1,71 @@
+package com.aruncoding.arun.employeeManagement.services.implementation;
+
+import com.aruncoding.arun.employeeManagement.dto.DepartmentDTO;
+import com.aruncoding.arun.employeeManagement.entities.Department;
+import com.aruncoding.arun.employeeManagement.exceptions.InvalidRequestException;
+import com.aruncoding.arun.employeeManagement.exceptions.RuntimeConflictException;
+import com.aruncoding.arun.employeeManagement.mappers.EmployeeMapper;
+import com.aruncoding.arun.employeeManagement.mappers.GeneratedEmployeeMapper;
+import com.aruncoding.arun.employeeManagement.repositories.DepartmentRepository;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+
+class DepartmentServiceImplTest extends AbstractServiceTest {
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private DepartmentCache departmentCache;
+
+    @Spy
+    private EmployeeMapper employeeMapper = Mappers.getMapper(GeneratedEmployeeMapper.class);
+
+    @InjectMocks
+    private DepartmentServiceImpl departmentService;
+
+    @Test
+    void testUpdateDepartment_whenTitleChanges_thenRefreshCache() {
+        //Assign
+        Department department = new Department(3L, "Engineering");
+        when(departmentRepository.findById(3L)).thenReturn(Optional.of(department));
+        when(departmentRepository.save(department)).thenReturn(department);
+        //Act
+        DepartmentDTO updated = departmentService.updateDepartment(3L, new DepartmentDTO(null, "Platform"));
+        //Assert
+        assertThat(updated).isEqualTo(new DepartmentDTO(3L, "Platform"));
+        verify(departmentCache, times(1)).refreshAfterCommit();
+    }
+
+    @Test
+    void testUpdateDepartment_whenTitleIsBlank_thenThrowException() {
+        //Act and Assert
+        assertThatThrownBy(() -> departmentService.updateDepartment(3L, new DepartmentDTO(null, " ")))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Department title must not be blank");
+        verify(departmentRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void testDeleteDepartment_whenEmployeesReferenceIt_thenThrowException() {
+        //Assign
+        when(departmentRepository.existsById(3L)).thenReturn(true);
+        doThrow(new DataIntegrityViolationException("fk")).when(departmentRepository).flush();
+        //Act and Assert
+        assertThatThrownBy(() -> departmentService.deleteDepartment(3L))
+                .isInstanceOf(RuntimeConflictException.class)
+                .hasMessage("Department with Id:3 still has employees");
+        verify(departmentCache, never()).refreshAfterCommit();
+    }
+}
@@ -0,0 +1,128 @@
+package com.aruncoding.arun.employeeManagement.services.implementation;
+
+import com.aruncoding.arun.employeeManagement.dto.EmployeeChangeDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeChangesDTO;
+import com.aruncoding.arun.employeeManagement.entities.Employee;
+import com.aruncoding.arun.employeeManagement.entities.EmployeeChange;
+import com.aruncoding.arun.employeeManagement.exceptions.InvalidRequestException;
+import com.aruncoding.arun.employeeManagement.repositories.EmployeeChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+
+class EmployeeChangeServiceImplTest extends AbstractServiceTest {
+
+    @Mock
+    private EmployeeChangeRepository employeeChangeRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private EmployeeChangeServiceImpl employeeChangeService;
+
+    @BeforeEach
+    void setUp() {
+        employeeChangeService = new EmployeeChangeServiceImpl(employeeChangeRepository, jdbcTemplate, Duration.ofSeconds(30), Duration.ofDays(7));
+    }
+
+    @Test
+    void testFetchChanges_whenMoreChangesExist_thenReturnPageAndLastSequence() {
+        //Assign
+        EmployeeChange created = change(11L, EmployeeChange.ChangeType.CREATED, LocalDateTime.now());
+        EmployeeChange deleted = change(12L, EmployeeChange.ChangeType.DELETED, LocalDateTime.now());
+        EmployeeChange updated = change(13L, EmployeeChange.ChangeType.UPDATED, LocalDateTime.now());
+        when(employeeChangeRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(3)))
+                .thenReturn(List.of(created, deleted, updated));
+        //Act
+        EmployeeChangesDTO changes = employeeChangeService.fetchChanges(10L, 2);
+        //Assert
+        assertThat(changes.getChanges()).hasSize(2);
+        assertThat(changes.getLastSequence()).isEqualTo(12L);
+        assertThat(changes.isHasMore()).isTrue();
+        assertThat(changes.getChanges().get(0).getEmployee().getEmail()).isEqualTo("arunamballa@gmail.com");
+        assertThat(changes.getChanges().get(1).getEmployee()).isNull();
+    }
+
+    @Test
+    void testFetchChanges_whenSequenceHasRecentGap_thenHoldBackChangesFromTheGap() {
+        //Assign
+        EmployeeChange beforeGap = change(6L, EmployeeChange.ChangeType.CREATED, LocalDateTime.now());
+        EmployeeChange afterGap = change(8L, EmployeeChange.ChangeType.UPDATED, LocalDateTime.now());
+        when(employeeChangeRepository.findByIdGreaterThanOrderByIdAsc(eq(5L), any(Limit.class)))
+                .thenReturn(List.of(beforeGap, afterGap));
+        //Act
+        EmployeeChangesDTO changes = employeeChangeService.fetchChanges(5L, null);
+        //Assert
+        assertThat(changes.getChanges()).extracting(EmployeeChangeDTO::getSequence).containsExactly(6L);
+        assertThat(changes.getLastSequence()).isEqualTo(6L);
+        assertThat(changes.isHasMore()).isFalse();
+        assertThatThrownBy(() -> employeeChangeService.fetchChanges(-1L, null))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("since must not be negative");
+    }
+
+    @Test
+    void testFetchChanges_whenGapIsOlderThanGapTimeout_thenSkipIt() {
+        //Assign
+        EmployeeChange afterGap = change(8L, EmployeeChange.ChangeType.UPDATED, LocalDateTime.now().minusMinutes(1));
+        when(employeeChangeRepository.findByIdGreaterThanOrderByIdAsc(eq(6L), any(Limit.class)))
+                .thenReturn(List.of(afterGap));
+        //Act
+        EmployeeChangesDTO changes = employeeChangeService.fetchChanges(6L, null);
+        //Assert
+        assertThat(changes.getChanges()).extracting(EmployeeChangeDTO::getSequence).containsExactly(8L);
+        assertThat(changes.getLastSequence()).isEqualTo(8L);
+    }
+
+    @Test
+    void testRecordChange_whenTransactionCommits_thenInsertAllChangesInOneBatch() {
+        //Assign
+        Employee employee = Employee.builder().id(1L).name("arun").email("arunamballa@gmail.com").age(26).version(0L).build();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            //Act
+            employeeChangeService.recordChange(EmployeeChange.ChangeType.CREATED, employee);
+            employeeChangeService.recordDeletes(List.of(2L, 3L));
+            verifyNoInteractions(jdbcTemplate);
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        //Assert
+        ArgumentCaptor<Collection<EmployeeChange>> changes = ArgumentCaptor.captor();
+        verify(employeeChangeRepository).flush();
+        verify(jdbcTemplate).batchUpdate(anyString(), changes.capture(), eq(3), any());
+        assertThat(changes.getValue()).extracting(EmployeeChange::getEmployeeId).containsExactly(1L, 2L, 3L);
+    }
+
+    private EmployeeChange change(Long id, EmployeeChange.ChangeType type, LocalDateTime changedAt) {
+        return EmployeeChange.builder()
+                .id(id)
+                .employeeId(1L)
+                .changeType(type)
+                .version(type == EmployeeChange.ChangeType.DELETED ? null : 0L)
+                .name(type == EmployeeChange.ChangeType.DELETED ? null : "arun")
+                .email(type == EmployeeChange.ChangeType.DELETED ? null : "arunamballa@gmail.com")
+                .age(type == EmployeeChange.ChangeType.DELETED ? null : 26)
+                .changedAt(changedAt)
+                .build();
+    }
+}
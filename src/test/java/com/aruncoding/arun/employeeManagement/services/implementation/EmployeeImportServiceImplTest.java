@@ -0,0 +1,140 @@
+package com.aruncoding.arun.employeeManagement.services.implementation;
+
+import com.aruncoding.arun.employeeManagement.dto.ImportJobDTO;
+import com.aruncoding.arun.employeeManagement.dto.ImportRowErrorDTO;
+import com.aruncoding.arun.employeeManagement.entities.Employee;
+import com.aruncoding.arun.employeeManagement.exceptions.InvalidRequestException;
+import com.aruncoding.arun.employeeManagement.mappers.GeneratedEmployeeMapper;
+import com.aruncoding.arun.employeeManagement.repositories.EmployeeRepository;
+import com.aruncoding.arun.employeeManagement.services.EmployeeChangeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+
+class EmployeeImportServiceImplTest extends AbstractServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EmployeeChangeService employeeChangeService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmployeeImportServiceImpl employeeImportService;
+
+    @BeforeEach
+    void setUp() {
+        employeeImportService = new EmployeeImportServiceImpl(employeeRepository,
+                Mappers.getMapper(GeneratedEmployeeMapper.class), employeeChangeService, transactionManager, 2, 1, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeImportService.shutdown();
+    }
+
+    @Test
+    void testStartImport_whenRowsAreInvalidOrDuplicated_thenImportTheRestAndReportErrors() throws InterruptedException {
+        //Assign
+        String csv = "name,email,age,salary\n" +
+                "arun,arun@gmail.com,26,1000\n" +
+                "teja,ARUN@gmail.com,31,2000\n" +
+                "ravi,not-an-email,30,\n" +
+                "sai,sai@gmail.com,28,\n" +
+                "ram,ram@gmail.com,forty,\n";
+        when(employeeRepository.findExistingEmails(anyList())).thenReturn(List.of("sai@gmail.com"));
+        //Act
+        ImportJobDTO started = employeeImportService.startImport(file(csv));
+        ImportJobDTO finished = awaitFinished(started.getJobId());
+        //Assert
+        assertThat(finished.getStatus()).isEqualTo(ImportJobDTO.Status.COMPLETED);
+        assertThat(finished.getProcessedRows()).isEqualTo(5);
+        assertThat(finished.getImportedRows()).isEqualTo(1);
+        assertThat(finished.getErrors()).extracting(ImportRowErrorDTO::getRow).containsExactly(2L, 3L, 4L, 5L);
+        assertThat(finished.getErrors().get(0).getMessage()).isEqualTo("Duplicate email in file");
+        ArgumentCaptor<List<Employee>> saved = ArgumentCaptor.captor();
+        verify(employeeRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(Employee::getEmail).containsExactly("arun@gmail.com");
+    }
+
+    @Test
+    void testStartImport_whenEmailRepeatsInLaterChunk_thenReportExistingEmployee() throws InterruptedException {
+        //Assign
+        String csv = "name,email,age\narun,arun@gmail.com,26\nsai,sai@gmail.com,28\nteja,ARUN@gmail.com,31\n";
+        //The first chunk is committed before the second one is checked, so the table already has the email
+        when(employeeRepository.findExistingEmails(anyList())).thenReturn(List.of()).thenReturn(List.of("arun@gmail.com"));
+        //Act
+        ImportJobDTO finished = awaitFinished(employeeImportService.startImport(file(csv)).getJobId());
+        //Assert
+        assertThat(finished.getImportedRows()).isEqualTo(2);
+        assertThat(finished.getErrors()).extracting(ImportRowErrorDTO::getRow).containsExactly(3L);
+        assertThat(finished.getErrors().get(0).getMessage()).isEqualTo("Employee already exists with email:arun@gmail.com");
+        verify(employeeRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void testStartImport_whenBatchInsertFails_thenRetryRowsOneByOne() throws InterruptedException {
+        //Assign
+        String csv = "email,name,age\na@gmail.com,a,20\nb@gmail.com,b,21\nc@gmail.com,c,22\n";
+        when(employeeRepository.findExistingEmails(anyList())).thenReturn(List.of());
+        when(employeeRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("uk_employee_email"));
+        when(employeeRepository.save(any(Employee.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry",
+                        new ConstraintViolationException("Duplicate entry", new SQLException(), "employee.uk_employee_email")))
+                .thenThrow(new DataIntegrityViolationException("Data too long",
+                        new SQLException("Data too long for column 'name' at row 1")));
+        //Act
+        ImportJobDTO finished = awaitFinished(employeeImportService.startImport(file(csv)).getJobId());
+        //Assert
+        assertThat(finished.getImportedRows()).isEqualTo(1);
+        assertThat(finished.getFailedRows()).isEqualTo(2);
+        assertThat(finished.getErrors()).extracting(ImportRowErrorDTO::getMessage).containsExactly(
+                "Employee already exists with email:b@gmail.com",
+                "Employee could not be saved:Data too long for column 'name' at row 1");
+        verify(employeeRepository, times(3)).save(any(Employee.class));
+    }
+
+    @Test
+    void testStartImport_whenRequiredColumnIsMissing_thenThrowException() {
+        //Assign
+        MockMultipartFile file = file("name,salary\narun,1000\n");
+        //Act and Assert
+        assertThatThrownBy(() -> employeeImportService.startImport(file))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Import file is missing columns:[email, age]");
+    }
+
+    private MockMultipartFile file(String csv) {
+        return new MockMultipartFile("file", "employees.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ImportJobDTO awaitFinished(String jobId) throws InterruptedException {
+        ImportJobDTO job = employeeImportService.fetchImportJob(jobId);
+        for (int i = 0; i < 100 && job.getFinishedAt() == null; i++) {
+            Thread.sleep(50);
+            job = employeeImportService.fetchImportJob(jobId);
+        }
+        return job;
+    }
+}
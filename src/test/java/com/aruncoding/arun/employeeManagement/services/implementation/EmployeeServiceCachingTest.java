@@ -0,0 +1,167 @@
+package com.aruncoding.arun.employeeManagement.services.implementation;
+
+import com.aruncoding.arun.employeeManagement.configs.AppConfig;
+import com.aruncoding.arun.employeeManagement.configs.CacheConfig;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.entities.Employee;
+import com.aruncoding.arun.employeeManagement.mappers.EmployeeMapper;
+import com.aruncoding.arun.employeeManagement.repositories.DepartmentEmployeeSummaryRepository;
+import com.aruncoding.arun.employeeManagement.repositories.DepartmentRepository;
+import com.aruncoding.arun.employeeManagement.repositories.EmployeeRepository;
+import com.aruncoding.arun.employeeManagement.services.EmployeeChangeService;
+import com.aruncoding.arun.employeeManagement.services.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+
+@SpringJUnitConfig
+class EmployeeServiceCachingTest {
+
+    @Configuration
+    @EnableTransactionManagement
+    @Import({CacheConfig.class, AppConfig.class, EmployeeServiceImpl.class})
+    static class CachingTestConfig {
+
+        @Bean(destroyMethod = "shutdown")
+        EmbeddedDatabase dataSource() {
+            return new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(CacheConfig.EMPLOYEES_CACHE);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockitoBean
+    private EmployeeRepository employeeRepository;
+
+    @MockitoBean
+    private DepartmentEmployeeSummaryRepository departmentEmployeeSummaryRepository;
+
+    @MockitoBean
+    private EmployeeChangeService employeeChangeService;
+
+    @MockitoBean
+    private DepartmentRepository departmentRepository;
+
+    @MockitoBean
+    private DepartmentCache departmentCache;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EmployeeMapper employeeMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Employee mockedEmployee;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).clear();
+        mockedEmployee = Employee.builder()
+                .id(1L)
+                .name("arun")
+                .age(26)
+                .email("arunamballa@gmail.com")
+                .salary(1000.0)
+                .build();
+        when(employeeRepository.findDTOById(1L)).thenAnswer(invocation -> Optional.of(employeeMapper.toDTO(mockedEmployee)));
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(mockedEmployee));
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(departmentCache.fillTitle(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void testFetchEmployeeById_whenCalledTwice_thenHitDatabaseOnce() {
+        //Act
+        EmployeeDTO first = employeeService.fetchEmployeeById(1L);
+        EmployeeDTO second = employeeService.fetchEmployeeById(1L);
+        //Assert
+        assertThat(second).isEqualTo(first);
+        verify(employeeRepository, times(1)).findDTOById(1L);
+    }
+
+    @Test
+    void testPatchEmployeeDetails_whenEmployeeIsCached_thenRefreshCachedEmployee() {
+        //Assign
+        employeeService.fetchEmployeeById(1L);
+        //Act
+        employeeService.patchEmployeeDetails(1L, Map.of("salary", 2000), null);
+        EmployeeDTO cached = employeeService.fetchEmployeeById(1L);
+        //Assert
+        assertThat(cached.getSalary()).isEqualTo(2000.0);
+        //the second read is served from the cache refreshed by the patch
+        verify(employeeRepository, times(1)).findDTOById(1L);
+    }
+
+    @Test
+    void testPatchEmployeeDetails_whenTransactionRollsBack_thenKeepCachedEmployee() {
+        //Assign
+        employeeService.fetchEmployeeById(1L);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        //Act
+        EmployeeDTO cachedInTransaction = transactionTemplate.execute(status -> {
+            employeeService.patchEmployeeDetails(1L, Map.of("salary", 2000), null);
+            status.setRollbackOnly();
+            return cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).get(1L, EmployeeDTO.class);
+        });
+        EmployeeDTO cached = employeeService.fetchEmployeeById(1L);
+        //Assert
+        assertThat(cachedInTransaction.getSalary()).isEqualTo(1000.0);
+        assertThat(cached.getSalary()).isEqualTo(1000.0);
+        verify(employeeRepository, times(1)).findDTOById(1L);
+    }
+
+    @Test
+    void testDeleteEmployee_whenEmployeeIsCached_thenEvictEmployee() {
+        //Assign
+        employeeService.fetchEmployeeById(1L);
+        //Act
+        employeeService.deleteEmployee(1L, null);
+        employeeService.fetchEmployeeById(1L);
+        //Assert
+        verify(employeeRepository, times(2)).findDTOById(1L);
+    }
+}
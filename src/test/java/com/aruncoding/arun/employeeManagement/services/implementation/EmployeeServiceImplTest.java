@@ -1,20 +1,49 @@
 package com.aruncoding.arun.employeeManagement.services.implementation;
 
+import com.aruncoding.arun.employeeManagement.dto.CursorPageDTO;
+import com.aruncoding.arun.employeeManagement.dto.DepartmentDTO;
+import com.aruncoding.arun.employeeManagement.dto.DepartmentStatsDTO;
 import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDetailsDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeSearchCriteria;
+import com.aruncoding.arun.employeeManagement.entities.Department;
+import com.aruncoding.arun.employeeManagement.entities.DepartmentEmployeeSummary;
 import com.aruncoding.arun.employeeManagement.entities.Employee;
+import com.aruncoding.arun.employeeManagement.entities.EmployeeChange;
+import com.aruncoding.arun.employeeManagement.exceptions.InvalidRequestException;
+import com.aruncoding.arun.employeeManagement.exceptions.PreconditionFailedException;
 import com.aruncoding.arun.employeeManagement.exceptions.ResourceNotFoundException;
 import com.aruncoding.arun.employeeManagement.exceptions.RuntimeConflictException;
+import com.aruncoding.arun.employeeManagement.mappers.EmployeeMapper;
+import com.aruncoding.arun.employeeManagement.mappers.GeneratedEmployeeMapper;
+import com.aruncoding.arun.employeeManagement.repositories.DepartmentEmployeeSummaryRepository;
+import com.aruncoding.arun.employeeManagement.repositories.DepartmentRepository;
 import com.aruncoding.arun.employeeManagement.repositories.EmployeeRepository;
+import com.aruncoding.arun.employeeManagement.repositories.SalaryPercentiles;
+import com.aruncoding.arun.employeeManagement.services.EmployeeChangeService;
+import com.aruncoding.arun.employeeManagement.utils.CursorCodec;
+import com.aruncoding.arun.employeeManagement.utils.EntityPatcher;
+import com.aruncoding.arun.employeeManagement.utils.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
-import org.modelmapper.ModelMapper;
-
+import org.mapstruct.factory.Mappers;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -26,8 +55,30 @@ class EmployeeServiceImplTest extends AbstractServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private DepartmentEmployeeSummaryRepository departmentEmployeeSummaryRepository;
+
+    @Mock
+    private EmployeeChangeService employeeChangeService;
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private DepartmentCache departmentCache;
+
+    @Spy
+    private EmployeeMapper employeeMapper = Mappers.getMapper(GeneratedEmployeeMapper.class);
+
+    @Spy
+    private EntityPatcher<Employee> employeePatcher = new EntityPatcher<>(Employee.class,
+            Set.of("name", "email", "age", "salary"), DefaultConversionService.getSharedInstance());
+
+    @Spy
+    private SingleFlight<Long, EmployeeDTO> employeeByIdFlight = new SingleFlight<>("employee.by-id", new SimpleMeterRegistry());
+
     @Spy
-    private ModelMapper modelMapper;
+    private SingleFlight<String, CursorPageDTO<EmployeeDTO>> employeePageFlight = new SingleFlight<>("employee.page", new SimpleMeterRegistry());
 
     @InjectMocks
     private EmployeeServiceImpl employeeService;
@@ -45,7 +96,9 @@ class EmployeeServiceImplTest extends AbstractServiceTest {
                .email("arunamballa@gmail.com")
                .salary(1000.0)
                .build();
-        mockedEmployeeDTO=modelMapper.map( mockedEmployee,EmployeeDTO.class);
+        mockedEmployeeDTO=employeeMapper.toDTO(mockedEmployee);
+        lenient().when(departmentCache.fillTitle(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(departmentCache.fillTitles(any())).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
 
@@ -53,7 +106,7 @@ class EmployeeServiceImplTest extends AbstractServiceTest {
     void testFetchEmployeeById_whenIdIsPresent_thenReturnEmployee() {
         //Assign
         Long id=mockedEmployee.getId();
-        when(employeeRepository.findById(id)).thenReturn(Optional.of(mockedEmployee));
+        when(employeeRepository.findDTOById(id)).thenReturn(Optional.of(mockedEmployeeDTO));
         //Act
         EmployeeDTO employeeDTO = employeeService.fetchEmployeeById(id);
         //Assert
@@ -63,28 +116,26 @@ class EmployeeServiceImplTest extends AbstractServiceTest {
         assertThat(employeeDTO.getAge()).isEqualTo(mockedEmployee.getAge());
         assertThat(employeeDTO.getSalary()).isEqualTo(mockedEmployee.getSalary());
 
-        verify(employeeRepository,times(1)).findById(id);
+        verify(employeeRepository,times(1)).findDTOById(id);
     }
 
     @Test
     void testFetchEmployeeById_whenIdIsNotPresent_thenThrowException() {
         //Assign
-        when(employeeRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(employeeRepository.findDTOById(anyLong())).thenReturn(Optional.empty());
         //Act and Assert
         assertThatThrownBy(()->employeeService.fetchEmployeeById(2L))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Employee not found with Id:2" );
 
-        verify(employeeRepository,atLeast(1)).findById(anyLong());
+        verify(employeeRepository,atLeast(1)).findDTOById(anyLong());
     }
 
 
     @Test
     void testSaveEmployee_whenEmployeeIsNotPresent_thenCreateEmployee() {
        //Assign
-        String email=mockedEmployee.getEmail();
-        when(employeeRepository.findByEmail(email)).thenReturn(Optional.empty());
-        when(employeeRepository.save(any(Employee.class))).thenReturn(mockedEmployee);
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenReturn(mockedEmployee);
        //Act
         EmployeeDTO employeeDTO = employeeService.saveEmployee(mockedEmployeeDTO);
         //Assert
@@ -94,9 +145,8 @@ class EmployeeServiceImplTest extends AbstractServiceTest {
         assertThat(employeeDTO.getAge()).isEqualTo(mockedEmployee.getAge());
         assertThat(employeeDTO.getSalary()).isEqualTo(mockedEmployee.getSalary());
 
-        verify(employeeRepository,atLeast(1)).findByEmail(email);
-        verify(employeeRepository,atLeast(1)).save(any(Employee.class));
-
+        verify(employeeRepository,atLeast(1)).saveAndFlush(any(Employee.class));
+        verify(employeeChangeService).recordChange(EmployeeChange.ChangeType.CREATED, mockedEmployee);
     }
 
 
@@ -104,42 +154,119 @@ class EmployeeServiceImplTest extends AbstractServiceTest {
     void testSaveEmployee_whenEmployeeIsPresent_thenThrowException() {
         //Assign
         String email=mockedEmployee.getEmail();
-        when(employeeRepository.findByEmail(email)).thenReturn(Optional.of(mockedEmployee));
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenThrow(new DataIntegrityViolationException("Duplicate entry",
+                new ConstraintViolationException("Duplicate entry", new SQLException(), "employee.uk_employee_email")));
 
         //Act and Assert
         assertThatThrownBy(()->employeeService.saveEmployee(mockedEmployeeDTO))
                 .isInstanceOf(RuntimeConflictException.class)
                 .hasMessage("Employee already exists with Email:"+email);
 
-        verify(employeeRepository,atLeast(1)).findByEmail(email);
-        verify(employeeRepository,times(0)).save(any(Employee.class));
+        verify(employeeRepository,times(1)).saveAndFlush(any(Employee.class));
+    }
+
+    @Test
+    void testSaveEmployee_whenDefaultLocaleIsTurkish_thenStillDetectDuplicateEmail() {
+        //Assign
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenThrow(new DataIntegrityViolationException("Duplicate entry",
+                new ConstraintViolationException("Duplicate entry", new SQLException(), "EMPLOYEE.UK_EMPLOYEE_EMAIL")));
+        try {
+            //Act and Assert
+            assertThatThrownBy(()->employeeService.saveEmployee(mockedEmployeeDTO))
+                    .isInstanceOf(RuntimeConflictException.class);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void testSaveEmployee_whenDepartmentWasDeletedMeanwhile_thenThrowInvalidRequest() {
+        //Assign
+        mockedEmployeeDTO.setDepartmentId(3L);
+        when(departmentCache.find(3L)).thenReturn(Optional.of(new DepartmentDTO(3L, "Engineering")));
+        when(departmentRepository.getReferenceById(3L)).thenReturn(new Department(3L, "Engineering"));
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenThrow(new DataIntegrityViolationException("FK violation",
+                new ConstraintViolationException("FK violation", new SQLException(), "FK_UNIQUE")));
+
+        //Act and Assert
+        assertThatThrownBy(()->employeeService.saveEmployee(mockedEmployeeDTO))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Department does not exist with Id:3");
+    }
+
+
+    @Test
+    void testSaveEmployee_whenOtherConstraintIsViolated_thenRethrowException() {
+        //Assign
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("Check violation",
+                new ConstraintViolationException("Check violation", new SQLException(), "CK_EMPLOYEE_AGE"));
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenThrow(violation);
+
+        //Act and Assert
+        assertThatThrownBy(()->employeeService.saveEmployee(mockedEmployeeDTO))
+                .isSameAs(violation);
     }
 
 
     @Test
     void testFetchAllEmployees_whenEmployeesPresent_thenReturnEmployees() {
         //Assign
-        when(employeeRepository.findAll()).thenReturn(List.of(mockedEmployee));
+        when(employeeRepository.findDTOsByIdGreaterThan(eq(0L), any(Limit.class))).thenReturn(List.of(mockedEmployeeDTO));
         //Act
-        List<EmployeeDTO> employeeDTOS = employeeService.fetchAllEmployees();
+        CursorPageDTO<EmployeeDTO> employeeDTOS = employeeService.fetchAllEmployees(null, null);
         //Assert
         assertThat(employeeDTOS).isNotNull();
-        assertThat(employeeDTOS.get(0)).isEqualTo(mockedEmployeeDTO);
+        assertThat(employeeDTOS.getContent().get(0)).isEqualTo(mockedEmployeeDTO);
+        assertThat(employeeDTOS.getNextCursor()).isNull();
+
+        verify(employeeRepository,times(1)).findDTOsByIdGreaterThan(eq(0L), any(Limit.class));
+    }
+
+    @Test
+    void testFetchAllEmployees_whenMoreEmployeesPresent_thenReturnNextCursor() {
+        //Assign
+        EmployeeDTO nextEmployeeDTO=EmployeeDTO.builder().id(2L).name("varun").email("varun@gmail.com").build();
+        when(employeeRepository.findDTOsByIdGreaterThan(0L, Limit.of(2))).thenReturn(List.of(mockedEmployeeDTO,nextEmployeeDTO));
+        //Act
+        CursorPageDTO<EmployeeDTO> employeeDTOS = employeeService.fetchAllEmployees(null, 1);
+        //Assert
+        assertThat(employeeDTOS.getContent()).hasSize(1);
+        assertThat(employeeDTOS.getNextCursor()).isEqualTo(CursorCodec.encode(mockedEmployee.getId()));
+    }
+
+    @Test
+    void testFetchAllEmployees_whenCursorIsInvalid_thenThrowException() {
+        //Act and Assert
+        assertThatThrownBy(()->employeeService.fetchAllEmployees("not-a-cursor", null))
+                .isInstanceOf(InvalidRequestException.class);
 
-        verify(employeeRepository,times(1)).findAll();
+        verify(employeeRepository,never()).findDTOsByIdGreaterThan(anyLong(), any(Limit.class));
     }
 
     @Test
     void testFetchAllEmployees_whenEmployeesNotPresent_thenThrowException() {
         //Assign
-        when(employeeRepository.findAll()).thenReturn(List.of());
+        when(employeeRepository.findDTOsByIdGreaterThan(eq(0L), any(Limit.class))).thenReturn(List.of());
         //Act and Asset
-        assertThatThrownBy(()->employeeService.fetchAllEmployees())
+        assertThatThrownBy(()->employeeService.fetchAllEmployees(null, null))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Employees Does not Exists");
 
-        verify(employeeRepository,atLeast(1)).findAll();
-        verify(employeeRepository,never()).save(any(Employee.class));
+        verify(employeeRepository,atLeast(1)).findDTOsByIdGreaterThan(eq(0L), any(Limit.class));
+        verify(employeeRepository,never()).saveAndFlush(any(Employee.class));
+    }
+
+    @Test
+    void testStreamAllEmployees_whenEmployeesPresent_thenStreamEmployees() {
+        //Assign
+        when(employeeRepository.findDTOsByIdGreaterThan(eq(0L), any(Limit.class))).thenReturn(List.of(mockedEmployeeDTO));
+        List<EmployeeDTO> streamed=new ArrayList<>();
+        //Act
+        employeeService.streamAllEmployees(streamed::add);
+        //Assert
+        assertThat(streamed).containsExactly(mockedEmployeeDTO);
     }
 
     @Test
@@ -147,9 +274,9 @@ class EmployeeServiceImplTest extends AbstractServiceTest {
         //Assign
         Long id=mockedEmployee.getId();
         when(employeeRepository.findById(id)).thenReturn(Optional.of(mockedEmployee));
-        when(employeeRepository.save(any(Employee.class))).thenReturn(mockedEmployee);
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenReturn(mockedEmployee);
         //Act
-        EmployeeDTO employeeDTO = employeeService.updateEmployee(id, mockedEmployeeDTO);
+        EmployeeDTO employeeDTO = employeeService.updateEmployee(id, mockedEmployeeDTO, null);
         //Assert
         assertThat(employeeDTO).isNotNull();
         assertThat(employeeDTO.getEmail()).isEqualTo(mockedEmployee.getEmail());
@@ -158,7 +285,47 @@ class EmployeeServiceImplTest extends AbstractServiceTest {
         assertThat(employeeDTO.getSalary()).isEqualTo(mockedEmployee.getSalary());
 
         verify(employeeRepository,atLeast(1)).findById(id);
-        verify(employeeRepository,atLeast(1)).save(any(Employee.class));
+        verify(employeeRepository,atLeast(1)).saveAndFlush(any(Employee.class));
+    }
+
+
+    @Test
+    void testUpdateEmployee_whenExpectedVersionIsStale_thenThrowException() {
+        //Assign
+        mockedEmployee.setVersion(3L);
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(mockedEmployee));
+        //Act and Assert
+        assertThatThrownBy(()->employeeService.updateEmployee(1L, mockedEmployeeDTO, 2L))
+                .isInstanceOf(PreconditionFailedException.class)
+                .hasMessage("Employee with Id:1 has been modified, current version:3");
+        verify(employeeRepository,never()).saveAndFlush(any(Employee.class));
+    }
+
+
+    @Test
+    void testUpdateEmployee_whenVersionChangesAfterCheck_thenThrowPreconditionFailed() {
+        //Assign
+        mockedEmployee.setVersion(2L);
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(mockedEmployee));
+        when(employeeRepository.saveAndFlush(any(Employee.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Employee.class, 1L));
+        //Act and Assert
+        assertThatThrownBy(()->employeeService.updateEmployee(1L, mockedEmployeeDTO, 2L))
+                .isInstanceOf(PreconditionFailedException.class)
+                .hasMessage("Employee with Id:1 has been modified, expected version:2");
+        verify(employeeChangeService,never()).recordChange(any(), any());
+    }
+
+
+    @Test
+    void testUpdateEmployee_whenVersionChangesWithoutIfMatch_thenRethrowException() {
+        //Assign
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(mockedEmployee));
+        when(employeeRepository.saveAndFlush(any(Employee.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Employee.class, 1L));
+        //Act and Assert
+        assertThatThrownBy(()->employeeService.updateEmployee(1L, mockedEmployeeDTO, null))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
     }
 
 
@@ -168,11 +335,11 @@ class EmployeeServiceImplTest extends AbstractServiceTest {
         Long id=2L;
         when(employeeRepository.findById(id)).thenReturn(Optional.empty());
         //Act and Assert
-        assertThatThrownBy(()->employeeService.updateEmployee(id, mockedEmployeeDTO))
+        assertThatThrownBy(()->employeeService.updateEmployee(id, mockedEmployeeDTO, null))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Employee not found with Id:2" );
         verify(employeeRepository,atLeast(1)).findById(id);
-        verify(employeeRepository,never()).save(any(Employee.class));
+        verify(employeeRepository,never()).saveAndFlush(any(Employee.class));
     }
 
 
@@ -180,15 +347,15 @@ class EmployeeServiceImplTest extends AbstractServiceTest {
     void testDeleteEmployee_whenEmployeeIsPresent_thenDeleteEmployee() {
         //Assign
         Long id=mockedEmployee.getId();
-        when(employeeRepository.existsById(id)).thenReturn(true);
-        doNothing().when(employeeRepository).deleteById(id);
+        when(employeeRepository.findById(id)).thenReturn(Optional.of(mockedEmployee));
+        doNothing().when(employeeRepository).delete(mockedEmployee);
 
         //Act
-        Boolean b = employeeService.deleteEmployee(id);
+        Boolean b = employeeService.deleteEmployee(id, null);
         assertThat(b).isTrue();
 
-        verify(employeeRepository,atLeast(1)).deleteById(id);
-        verify(employeeRepository,atLeast(1)).existsById(id);
+        verify(employeeRepository,atLeast(1)).delete(mockedEmployee);
+        verify(employeeRepository,atLeast(1)).findById(id);
     }
 
 
@@ -196,15 +363,31 @@ class EmployeeServiceImplTest extends AbstractServiceTest {
     void testDeleteEmployee_whenEmployeeIsNotPresent_thenThrowException() {
         //Assign
         Long id=2L;
-        when(employeeRepository.existsById(id)).thenReturn(false);
+        when(employeeRepository.findById(id)).thenReturn(Optional.empty());
 
         //Act and Assert
-        assertThatThrownBy(()->employeeService.deleteEmployee(id))
+        assertThatThrownBy(()->employeeService.deleteEmployee(id, null))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Employee not found with Id:2" );
 
-        verify(employeeRepository,atLeast(1)).existsById(id);
-        verify(employeeRepository,never()).deleteById(id);
+        verify(employeeRepository,atLeast(1)).findById(id);
+        verify(employeeRepository,never()).delete(any(Employee.class));
+    }
+
+
+    @Test
+    void testDeleteEmployee_whenExpectedVersionIsStale_thenThrowPreconditionFailed() {
+        //Assign
+        Long id=mockedEmployee.getId();
+        mockedEmployee.setVersion(3L);
+        when(employeeRepository.findById(id)).thenReturn(Optional.of(mockedEmployee));
+
+        //Act and Assert
+        assertThatThrownBy(()->employeeService.deleteEmployee(id, 2L))
+                .isInstanceOf(PreconditionFailedException.class);
+
+        verify(employeeRepository,never()).delete(any(Employee.class));
+        verify(employeeChangeService,never()).recordDeletes(any());
     }
 
 
@@ -221,18 +404,18 @@ class EmployeeServiceImplTest extends AbstractServiceTest {
        updatedEmployee.setAge(mockedEmployee.getAge());
        updatedEmployee.setSalary(mockedEmployee.getSalary());
 
-       when(employeeRepository.save(any(Employee.class))).thenReturn(updatedEmployee);
+       when(employeeRepository.saveAndFlush(any(Employee.class))).thenReturn(updatedEmployee);
        Map<String, Object> updates=Map.of("email","arunamballa24@gmail.com");
 
        //Act
-        EmployeeDTO employeeDTO = employeeService.patchEmployeeDetails(id, updates);
+        EmployeeDTO employeeDTO = employeeService.patchEmployeeDetails(id, updates, null);
 
         //Assert
         assertThat(employeeDTO).isNotNull();
         assertThat(employeeDTO.getEmail()).isEqualTo(updatedEmployee.getEmail());
 
         verify(employeeRepository,atLeast(1)).findById(id);
-        verify(employeeRepository,atLeast(1)).save(any(Employee.class));
+        verify(employeeRepository,atLeast(1)).saveAndFlush(any(Employee.class));
 
     }
 
@@ -244,12 +427,258 @@ class EmployeeServiceImplTest extends AbstractServiceTest {
         when(employeeRepository.findById(id)).thenReturn(Optional.empty());
         Map<String, Object> updates=Map.of("email","arunamballa24@gmail.com");
         //Act and Assert
-        assertThatThrownBy(()->employeeService.patchEmployeeDetails(id,updates))
+        assertThatThrownBy(()->employeeService.patchEmployeeDetails(id,updates,null))
         .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Employee not found with Id:2" );
 
         verify(employeeRepository,atLeast(1)).findById(id);
-        verify(employeeRepository,never()).save(any(Employee.class));
+        verify(employeeRepository,never()).saveAndFlush(any(Employee.class));
+    }
+
+    @Test
+    void testPatchEmployeeDetails_whenFieldIsNotPatchable_thenThrowExceptionBeforeQuery() {
+        //Assign
+        Map<String, Object> updates=Map.of("id",5L);
+        //Act and Assert
+        assertThatThrownBy(()->employeeService.patchEmployeeDetails(1L,updates,null))
+                .isInstanceOf(InvalidRequestException.class);
+
+        verify(employeeRepository,never()).findById(anyLong());
+        verify(employeeRepository,never()).saveAndFlush(any(Employee.class));
+    }
+
+    @Test
+    void testSaveEmployees_whenEmailAlreadyExists_thenThrowException() {
+        //Assign
+        String email=mockedEmployee.getEmail();
+        when(employeeRepository.findExistingEmails(Set.of(email))).thenReturn(List.of(email));
+        //Act and Assert
+        assertThatThrownBy(()->employeeService.saveEmployees(List.of(mockedEmployeeDTO)))
+                .isInstanceOf(RuntimeConflictException.class)
+                .hasMessage("Employees already exist with Emails:["+email+"]");
+
+        verify(employeeRepository,never()).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void testSaveEmployees_whenEmailIsDuplicatedInRequest_thenThrowException() {
+        //Act and Assert
+        assertThatThrownBy(()->employeeService.saveEmployees(List.of(mockedEmployeeDTO,mockedEmployeeDTO)))
+                .isInstanceOf(RuntimeConflictException.class);
+
+        verify(employeeRepository,never()).findExistingEmails(anyCollection());
+        verify(employeeRepository,never()).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void testSaveEmployees_whenEmailsAreNew_thenSaveAllInOneCall() {
+        //Assign
+        when(employeeRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        when(employeeRepository.saveAllAndFlush(anyList())).thenReturn(List.of(mockedEmployee));
+        //Act
+        List<EmployeeDTO> employeeDTOS = employeeService.saveEmployees(List.of(mockedEmployeeDTO));
+        //Assert
+        assertThat(employeeDTOS).containsExactly(mockedEmployeeDTO);
+        verify(employeeRepository,times(1)).saveAllAndFlush(anyList());
+        verify(employeeRepository,never()).saveAndFlush(any(Employee.class));
+    }
+
+    @Test
+    void testUpsertEmployees_whenEmailExists_thenUpdateExistingEmployee() {
+        //Assign
+        EmployeeDTO changedEmployeeDTO=EmployeeDTO.builder()
+                .name("arun amballa")
+                .email(mockedEmployee.getEmail())
+                .age(27)
+                .salary(2000.0)
+                .build();
+        when(employeeRepository.findByEmailIn(Set.of(mockedEmployee.getEmail()))).thenReturn(List.of(mockedEmployee));
+        when(employeeRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        //Act
+        List<EmployeeDTO> employeeDTOS = employeeService.upsertEmployees(List.of(changedEmployeeDTO));
+        //Assert
+        changedEmployeeDTO.setId(mockedEmployee.getId());
+        assertThat(employeeDTOS).containsExactly(changedEmployeeDTO);
+        assertThat(mockedEmployee.getSalary()).isEqualTo(2000.0);
+        assertThat(mockedEmployee.getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void testUpsertEmployees_whenEmailDiffersOnlyInCase_thenUpdateExistingEmployee() {
+        //Assign
+        EmployeeDTO changedEmployeeDTO=EmployeeDTO.builder()
+                .name("arun amballa")
+                .email("ArunAmballa@Gmail.com")
+                .age(27)
+                .salary(2000.0)
+                .build();
+        when(employeeRepository.findByEmailIn(Set.of("ArunAmballa@Gmail.com"))).thenReturn(List.of(mockedEmployee));
+        when(employeeRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        //Act
+        List<EmployeeDTO> employeeDTOS = employeeService.upsertEmployees(List.of(changedEmployeeDTO));
+        //Assert
+        assertThat(employeeDTOS).extracting(EmployeeDTO::getId).containsExactly(1L);
+        assertThat(mockedEmployee.getSalary()).isEqualTo(2000.0);
+        verify(employeeChangeService).recordChange(EmployeeChange.ChangeType.UPDATED, mockedEmployee);
+    }
+
+    @Test
+    void testDeleteEmployees_whenIdsGiven_thenDeleteInOneQuery() {
+        //Assign
+        when(employeeRepository.findExistingIds(List.of(1L,2L,3L))).thenReturn(List.of(1L,2L));
+        when(employeeRepository.deleteByIdIn(List.of(1L,2L))).thenReturn(2);
+        //Act
+        Integer deleted = employeeService.deleteEmployees(List.of(1L,2L,3L));
+        //Assert
+        assertThat(deleted).isEqualTo(2);
+        verify(employeeRepository,never()).deleteById(anyLong());
+        verify(employeeChangeService).recordDeletes(List.of(1L,2L));
+    }
+
+    @Test
+    void testFetchEmployeeDetailsById_whenIdIsPresent_thenReturnEmployeeWithDepartment() {
+        //Assign
+        mockedEmployee.setDepartment(new Department(3L,"Engineering"));
+        when(employeeRepository.findWithDepartmentById(1L)).thenReturn(Optional.of(mockedEmployee));
+        //Act
+        EmployeeDetailsDTO employeeDetailsDTO = employeeService.fetchEmployeeDetailsById(1L);
+        //Assert
+        assertThat(employeeDetailsDTO.getEmail()).isEqualTo(mockedEmployee.getEmail());
+        assertThat(employeeDetailsDTO.getDepartment().getTitle()).isEqualTo("Engineering");
+        verify(employeeRepository,never()).findById(anyLong());
+    }
+
+    @Test
+    void testFetchAllEmployeeDetails_whenMoreEmployeesPresent_thenReturnNextCursor() {
+        //Assign
+        EmployeeDetailsDTO first=new EmployeeDetailsDTO(1L,"arun","arunamballa@gmail.com",26,1000.0,3L,"Engineering");
+        EmployeeDetailsDTO second=new EmployeeDetailsDTO(2L,"varun","varun@gmail.com",27,1000.0,null,null);
+        when(employeeRepository.findDetailsByIdGreaterThan(0L, Limit.of(2))).thenReturn(List.of(first,second));
+        //Act
+        CursorPageDTO<EmployeeDetailsDTO> page = employeeService.fetchAllEmployeeDetails(null, 1);
+        //Assert
+        assertThat(page.getContent()).containsExactly(first);
+        assertThat(page.getNextCursor()).isEqualTo(CursorCodec.encode(1L));
+        assertThat(second.getDepartment()).isNull();
+    }
+
+    @Test
+    void testSearchEmployees_whenNothingMatches_thenReturnEmptyPage() {
+        //Assign
+        EmployeeSearchCriteria criteria = EmployeeSearchCriteria.builder().name("zed").build();
+        when(employeeRepository.searchDTOs(criteria, 0L, Limit.of(51))).thenReturn(List.of());
+        //Act
+        CursorPageDTO<EmployeeDTO> page = employeeService.searchEmployees(criteria, null, null);
+        //Assert
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void testSearchEmployees_whenAgeRangeIsInverted_thenThrowException() {
+        //Assign
+        EmployeeSearchCriteria criteria = EmployeeSearchCriteria.builder().minAge(40).maxAge(30).build();
+        //Act and Assert
+        assertThatThrownBy(() -> employeeService.searchEmployees(criteria, null, null))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Invalid age range:40 > 30");
+        verify(employeeRepository, never()).searchDTOs(any(), anyLong(), any());
+    }
+
+    @Test
+    void testSaveEmployee_whenDepartmentIsGiven_thenReferenceDepartment() {
+        //Assign
+        mockedEmployeeDTO.setDepartmentId(3L);
+        Department department = new Department(3L, "Engineering");
+        when(departmentCache.find(3L)).thenReturn(Optional.of(new DepartmentDTO(3L, "Engineering")));
+        when(departmentRepository.getReferenceById(3L)).thenReturn(department);
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        //Act
+        EmployeeDTO employeeDTO = employeeService.saveEmployee(mockedEmployeeDTO);
+        //Assert
+        assertThat(employeeDTO.getDepartmentId()).isEqualTo(3L);
+        verify(departmentCache).fillTitle(employeeDTO);
+        verify(departmentRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void testSaveEmployee_whenDepartmentDoesNotExist_thenThrowException() {
+        //Assign
+        mockedEmployeeDTO.setDepartmentId(9L);
+        when(departmentCache.find(9L)).thenReturn(Optional.empty());
+        when(departmentRepository.existsById(9L)).thenReturn(false);
+        //Act and Assert
+        assertThatThrownBy(() -> employeeService.saveEmployee(mockedEmployeeDTO))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Department does not exist with Id:9");
+        verify(employeeRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testFetchEmployeesByDepartment_whenDepartmentIsEmpty_thenReturnEmptyPage() {
+        //Assign
+        when(departmentCache.find(3L)).thenReturn(Optional.of(new DepartmentDTO(3L, "Engineering")));
+        when(employeeRepository.findDTOsByDepartmentIdAndIdGreaterThan(3L, 0L, Limit.of(51))).thenReturn(List.of());
+        //Act
+        CursorPageDTO<EmployeeDTO> page = employeeService.fetchEmployeesByDepartment(3L, null, null);
+        //Assert
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void testFetchEmployeesByDepartment_whenDepartmentDoesNotExist_thenThrowException() {
+        //Assign
+        when(departmentCache.find(9L)).thenReturn(Optional.empty());
+        when(departmentRepository.existsById(9L)).thenReturn(false);
+        //Act and Assert
+        assertThatThrownBy(() -> employeeService.fetchEmployeesByDepartment(9L, null, null))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Department not found with Id:9");
+        verify(employeeRepository, never()).findDTOsByDepartmentIdAndIdGreaterThan(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void testFetchDepartmentStats_thenMergePercentilesByDepartment() {
+        //Assign
+        DepartmentStatsDTO engineering = new DepartmentStatsDTO(1L, "Engineering", 3L, 2000.0, 1000.0, 3000.0, 35.0, 1L, 1L, 1L, 0L);
+        DepartmentStatsDTO unassigned = new DepartmentStatsDTO(null, null, 1L, null, null, null, 26.0, 1L, 0L, 0L, 0L);
+        SalaryPercentiles percentiles = mock(SalaryPercentiles.class);
+        when(percentiles.getDepartmentId()).thenReturn(1L);
+        when(percentiles.getMedianSalary()).thenReturn(2000.0);
+        when(percentiles.getP90Salary()).thenReturn(3000.0);
+        when(employeeRepository.findDepartmentStats()).thenReturn(List.of(engineering, unassigned));
+        when(employeeRepository.findSalaryPercentiles()).thenReturn(List.of(percentiles));
+        //Act
+        List<DepartmentStatsDTO> stats = employeeService.fetchDepartmentStats();
+        //Assert
+        assertThat(stats).hasSize(2);
+        assertThat(stats.get(0).getMedianSalary()).isEqualTo(2000.0);
+        assertThat(stats.get(0).getP90Salary()).isEqualTo(3000.0);
+        assertThat(stats.get(0).getAgeDistribution().getFrom40To49()).isEqualTo(1L);
+        assertThat(stats.get(1).getMedianSalary()).isNull();
+    }
+
+    @Test
+    void testFetchDepartmentStatsSummary_thenComputeAveragesFromTotals() {
+        //Assign
+        DepartmentEmployeeSummary summary = DepartmentEmployeeSummary.builder()
+                .departmentId(DepartmentEmployeeSummary.NO_DEPARTMENT)
+                .headcount(4).salaryCount(2).salaryTotal(3000.0).ageTotal(120)
+                .ageUnder30(1).age30To39(2).age40To49(1).age50Plus(0)
+                .build();
+        DepartmentEmployeeSummaryRepository.SummaryWithTitle row = mock(DepartmentEmployeeSummaryRepository.SummaryWithTitle.class);
+        when(row.getSummary()).thenReturn(summary);
+        when(departmentEmployeeSummaryRepository.findAllWithTitle()).thenReturn(List.of(row));
+        //Act
+        List<DepartmentStatsDTO> stats = employeeService.fetchDepartmentStatsSummary();
+        //Assert
+        assertThat(stats).hasSize(1);
+        assertThat(stats.get(0).getDepartmentId()).isNull();
+        assertThat(stats.get(0).getHeadcount()).isEqualTo(4L);
+        assertThat(stats.get(0).getAverageSalary()).isEqualTo(1500.0);
+        assertThat(stats.get(0).getAverageAge()).isEqualTo(30.0);
+        assertThat(stats.get(0).getAgeDistribution().getFrom30To39()).isEqualTo(2L);
     }
 
-}
\ No newline at end of file
+}
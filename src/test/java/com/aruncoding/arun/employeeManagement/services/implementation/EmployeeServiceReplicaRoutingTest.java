@@ -0,0 +1,132 @@
+package com.aruncoding.arun.employeeManagement.services.implementation;
+
+import com.aruncoding.arun.employeeManagement.configs.AppConfig;
+import com.aruncoding.arun.employeeManagement.dto.CursorPageDTO;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.services.EmployeeChangeService;
+import com.aruncoding.arun.employeeManagement.services.EmployeeService;
+import com.aruncoding.arun.employeeManagement.utils.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+//The primary and the replica hold the same employee under different names, the name tells where a read went
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AppConfig.class, EmployeeServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeServiceReplicaRoutingTest {
+
+    @TestConfiguration
+    static class RoutingTestConfig {
+
+        @Bean
+        HikariDataSource primaryNode() {
+            return node("primary");
+        }
+
+        @Bean
+        HikariDataSource replicaNode() {
+            return node("replica");
+        }
+
+        @Bean(destroyMethod = "close")
+        ReadWriteRoutingDataSource routingDataSource(HikariDataSource primaryNode, HikariDataSource replicaNode) {
+            return new ReadWriteRoutingDataSource(primaryNode, List.of(replicaNode), ReadWriteRoutingDataSource.Selection.ROUND_ROBIN,
+                    replica -> Duration.ZERO, Duration.ofSeconds(2), Duration.ofHours(1));
+        }
+
+        @Bean
+        @Primary
+        DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+            return new LazyConnectionDataSourceProxy(routingDataSource);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        private static HikariDataSource node(String name) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+            dataSource.setMaximumPoolSize(2);
+            return dataSource;
+        }
+    }
+
+    @MockitoBean
+    private EmployeeChangeService employeeChangeService;
+
+    @MockitoBean
+    private DepartmentCache departmentCache;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private HikariDataSource primaryNode;
+
+    @Autowired
+    private HikariDataSource replicaNode;
+
+    @BeforeEach
+    void setUp() {
+        //Hibernate created the schema on the primary only, the replica gets a copy of it
+        JdbcTemplate primary = new JdbcTemplate(primaryNode);
+        JdbcTemplate replica = new JdbcTemplate(replicaNode);
+        replica.execute("drop all objects");
+        primary.queryForList("script nodata", String.class).forEach(replica::execute);
+        primary.update("delete from employee");
+        insertEmployee(primary, "primary");
+        insertEmployee(replica, "replica");
+        when(departmentCache.fillTitle(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(departmentCache.fillTitles(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void testFetchEmployeeById_whenCalledOutsideTransaction_thenReadFromReplica() {
+        //Assign
+        //Act
+        EmployeeDTO employee = employeeService.fetchEmployeeById(1L);
+        //Assert
+        assertThat(employee.getName()).isEqualTo("replica");
+    }
+
+    @Test
+    void testFetchAllEmployees_whenCalledOutsideTransaction_thenReadFromReplica() {
+        //Assign
+        //Act
+        CursorPageDTO<EmployeeDTO> page = employeeService.fetchAllEmployees(null, null);
+        //Assert
+        assertThat(page.getContent()).extracting(EmployeeDTO::getName).containsExactly("replica");
+    }
+
+    private void insertEmployee(JdbcTemplate node, String name) {
+        node.update("insert into employee (id, name, email, age, salary, version) values (1, ?, 'arun@gmail.com', 26, 1000, 0)", name);
+    }
+}
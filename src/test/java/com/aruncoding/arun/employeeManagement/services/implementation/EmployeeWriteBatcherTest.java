@@ -0,0 +1,159 @@
+package com.aruncoding.arun.employeeManagement.services.implementation;
+
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.exceptions.RuntimeConflictException;
+import com.aruncoding.arun.employeeManagement.services.EmployeeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+
+class EmployeeWriteBatcherTest extends AbstractServiceTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmployeeWriteBatcher employeeWriteBatcher;
+
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        //A long max-delay so every write submitted below lands in the same batch
+        employeeWriteBatcher = new EmployeeWriteBatcher(employeeService, transactionManager, new SimpleMeterRegistry(),
+                true, 3, Duration.ofSeconds(1), 10, Duration.ofSeconds(5), Duration.ofSeconds(10));
+        callers = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        callers.shutdownNow();
+        employeeWriteBatcher.shutdown();
+    }
+
+    @Test
+    void testSaveEmployee_whenWritesArriveTogether_thenCommitThemInOneTransaction() throws Exception {
+        //Assign
+        when(employeeService.saveEmployee(any(EmployeeDTO.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        //Act
+        List<Future<EmployeeDTO>> results = new ArrayList<>();
+        for (String name : List.of("arun", "ravi", "teja")) {
+            results.add(callers.submit(() -> employeeWriteBatcher.saveEmployee(employee(name))));
+        }
+        //Assert
+        assertThat(results.get(0).get(5, TimeUnit.SECONDS).getName()).isEqualTo("arun");
+        assertThat(results.get(1).get(5, TimeUnit.SECONDS).getName()).isEqualTo("ravi");
+        assertThat(results.get(2).get(5, TimeUnit.SECONDS).getName()).isEqualTo("teja");
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void testSaveEmployee_whenOneWriteConflicts_thenOnlyThatCallerGetsTheError() throws Exception {
+        //Assign
+        when(employeeService.saveEmployee(any(EmployeeDTO.class))).thenAnswer(invocation -> {
+            EmployeeDTO employeeDTO = invocation.getArgument(0);
+            if (employeeDTO.getName().equals("ravi")) {
+                throw new RuntimeConflictException("Employee already exists with Email:ravi@gmail.com");
+            }
+            return employeeDTO;
+        });
+        //Act
+        List<Future<EmployeeDTO>> results = new ArrayList<>();
+        for (String name : List.of("arun", "ravi", "teja")) {
+            results.add(callers.submit(() -> employeeWriteBatcher.saveEmployee(employee(name))));
+        }
+        //Assert
+        assertThat(results.get(0).get(5, TimeUnit.SECONDS).getName()).isEqualTo("arun");
+        assertThat(results.get(2).get(5, TimeUnit.SECONDS).getName()).isEqualTo("teja");
+        assertThat(catchCause(results.get(1)))
+                .isInstanceOf(RuntimeConflictException.class)
+                .hasMessage("Employee already exists with Email:ravi@gmail.com");
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    void testSaveEmployee_whenBatchThrowsError_thenFailThatBatchAndKeepFlushing() throws Exception {
+        //Assign
+        when(employeeService.saveEmployee(any(EmployeeDTO.class))).thenAnswer(invocation -> {
+            EmployeeDTO employeeDTO = invocation.getArgument(0);
+            if (employeeDTO.getName().equals("ravi")) {
+                throw new StackOverflowError();
+            }
+            return employeeDTO;
+        });
+        List<Future<EmployeeDTO>> results = new ArrayList<>();
+        for (String name : List.of("arun", "ravi", "teja")) {
+            results.add(callers.submit(() -> employeeWriteBatcher.saveEmployee(employee(name))));
+        }
+        //Act
+        Throwable batchError = catchCause(results.get(1));
+        EmployeeDTO later = callers.submit(() -> employeeWriteBatcher.saveEmployee(employee("sai"))).get(5, TimeUnit.SECONDS);
+        //Assert
+        assertThat(batchError).isInstanceOf(StackOverflowError.class);
+        assertThat(catchCause(results.get(0))).isInstanceOf(StackOverflowError.class);
+        assertThat(later.getName()).isEqualTo("sai");
+    }
+
+    @Test
+    void testSaveEmployee_whenNotPickedUpWithinMaxWait_thenWriteOnCallerThread() throws Exception {
+        //Assign
+        employeeWriteBatcher.shutdown();
+        employeeWriteBatcher = new EmployeeWriteBatcher(employeeService, transactionManager, new SimpleMeterRegistry(),
+                true, 1, Duration.ZERO, 10, Duration.ofMillis(100), Duration.ofSeconds(10));
+        CountDownLatch release = new CountDownLatch(1);
+        when(employeeService.saveEmployee(any(EmployeeDTO.class))).thenAnswer(invocation -> {
+            EmployeeDTO employeeDTO = invocation.getArgument(0);
+            if (employeeDTO.getName().equals("arun")) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return employeeDTO;
+        });
+        Future<EmployeeDTO> blocked = callers.submit(() -> employeeWriteBatcher.saveEmployee(employee("arun")));
+        verify(employeeService, timeout(5000)).saveEmployee(any(EmployeeDTO.class));
+        //Act
+        EmployeeDTO queued = callers.submit(() -> employeeWriteBatcher.saveEmployee(employee("ravi"))).get(5, TimeUnit.SECONDS);
+        //Assert
+        assertThat(queued.getName()).isEqualTo("ravi");
+        assertThat(blocked.isDone()).isFalse();
+        release.countDown();
+        assertThat(blocked.get(5, TimeUnit.SECONDS).getName()).isEqualTo("arun");
+    }
+
+    private static Throwable catchCause(Future<?> result) throws InterruptedException {
+        try {
+            result.get(5, TimeUnit.SECONDS);
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        } catch (TimeoutException e) {
+            throw new AssertionError("Write did not complete", e);
+        }
+    }
+
+    private static EmployeeDTO employee(String name) {
+        return new EmployeeDTO(null, name, name + "@gmail.com", 26, 1000.0);
+    }
+}
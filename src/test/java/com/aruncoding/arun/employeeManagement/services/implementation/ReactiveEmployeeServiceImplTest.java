@@ -0,0 +1,225 @@
+package com.aruncoding.arun.employeeManagement.services.implementation;
+
+import com.aruncoding.arun.employeeManagement.configs.CacheConfig;
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDTO;
+import com.aruncoding.arun.employeeManagement.entities.EmployeeChange;
+import com.aruncoding.arun.employeeManagement.entities.ReactiveEmployee;
+import com.aruncoding.arun.employeeManagement.entities.ReactiveEmployeeChange;
+import com.aruncoding.arun.employeeManagement.exceptions.InvalidRequestException;
+import com.aruncoding.arun.employeeManagement.exceptions.ResourceNotFoundException;
+import com.aruncoding.arun.employeeManagement.exceptions.RuntimeConflictException;
+import com.aruncoding.arun.employeeManagement.mappers.ReactiveEmployeeMapper;
+import com.aruncoding.arun.employeeManagement.repositories.ReactiveDepartmentRepository;
+import com.aruncoding.arun.employeeManagement.repositories.ReactiveEmployeeIdGenerator;
+import com.aruncoding.arun.employeeManagement.repositories.ReactiveEmployeeRepository;
+import com.aruncoding.arun.employeeManagement.utils.EntityPatcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+
+class ReactiveEmployeeServiceImplTest extends AbstractServiceTest {
+
+    @Mock
+    private ReactiveEmployeeRepository reactiveEmployeeRepository;
+
+    @Mock
+    private ReactiveDepartmentRepository reactiveDepartmentRepository;
+
+    @Mock
+    private ReactiveEmployeeIdGenerator reactiveEmployeeIdGenerator;
+
+    @Mock
+    private R2dbcEntityTemplate r2dbcEntityTemplate;
+
+    @Mock
+    private TransactionalOperator reactiveTransactionalOperator;
+
+    @Spy
+    private ReactiveEmployeeMapper reactiveEmployeeMapper = Mappers.getMapper(ReactiveEmployeeMapper.class);
+
+    @Spy
+    private EntityPatcher<ReactiveEmployee> reactiveEmployeePatcher = new EntityPatcher<>(ReactiveEmployee.class,
+            Set.of("name", "email", "age", "salary"), DefaultConversionService.getSharedInstance());
+
+    @Mock
+    private DepartmentCache departmentCache;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.EMPLOYEES_CACHE);
+
+    @InjectMocks
+    private ReactiveEmployeeServiceImpl reactiveEmployeeService;
+
+    private ReactiveEmployee mockedEmployee;
+
+    @BeforeEach
+    void setUp(){
+        mockedEmployee=ReactiveEmployee.builder()
+                .id(1L)
+                .name("arun")
+                .age(26)
+                .email("arunamballa@gmail.com")
+                .salary(1000.0)
+                .build();
+        lenient().when(departmentCache.fillTitle(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void testFetchEmployeeById_whenIdIsPresent_thenReturnEmployee() {
+        //Assign
+        when(reactiveEmployeeRepository.findById(1L)).thenReturn(Mono.just(mockedEmployee));
+        //Act and Assert
+        StepVerifier.create(reactiveEmployeeService.fetchEmployeeById(1L))
+                .assertNext(employeeDTO -> assertThat(employeeDTO.getEmail()).isEqualTo(mockedEmployee.getEmail()))
+                .verifyComplete();
+    }
+
+    @Test
+    void testFetchEmployeeById_whenEmployeeHasDepartment_thenFillDepartmentTitle() {
+        //Assign
+        mockedEmployee.setDepartmentId(2L);
+        when(reactiveEmployeeRepository.findById(1L)).thenReturn(Mono.just(mockedEmployee));
+        when(departmentCache.fillTitle(any())).thenAnswer(invocation -> {
+            EmployeeDTO employeeDTO = invocation.getArgument(0);
+            employeeDTO.setDepartmentTitle("Engineering");
+            return employeeDTO;
+        });
+        //Act and Assert
+        StepVerifier.create(reactiveEmployeeService.fetchEmployeeById(1L))
+                .assertNext(employeeDTO -> assertThat(employeeDTO.getDepartmentTitle()).isEqualTo("Engineering"))
+                .verifyComplete();
+    }
+
+    @Test
+    void testFetchEmployeeById_whenIdIsNotPresent_thenThrowException() {
+        //Assign
+        when(reactiveEmployeeRepository.findById(1L)).thenReturn(Mono.empty());
+        //Act and Assert
+        StepVerifier.create(reactiveEmployeeService.fetchEmployeeById(1L))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(ResourceNotFoundException.class)
+                        .hasMessage("Employee not found with Id:1"))
+                .verify();
+    }
+
+    @Test
+    void testSaveEmployee_whenValidEmployee_thenInsertWithGeneratedId() {
+        //Assign
+        EmployeeDTO employeeDTO = reactiveEmployeeMapper.toDTO(mockedEmployee);
+        when(reactiveEmployeeIdGenerator.nextId()).thenReturn(Mono.just(51L));
+        when(r2dbcEntityTemplate.insert(any(ReactiveEmployee.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(r2dbcEntityTemplate.insert(any(ReactiveEmployeeChange.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(reactiveTransactionalOperator.transactional(anyMono())).thenAnswer(invocation -> invocation.getArgument(0));
+        //Act and Assert
+        StepVerifier.create(reactiveEmployeeService.saveEmployee(employeeDTO))
+                .assertNext(savedEmployee -> {
+                    assertThat(savedEmployee.getId()).isEqualTo(51L);
+                    assertThat(savedEmployee.getEmail()).isEqualTo(mockedEmployee.getEmail());
+                })
+                .verifyComplete();
+        verify(reactiveEmployeeRepository, never()).save(any());
+        verify(reactiveTransactionalOperator).transactional(anyMono());
+        verify(r2dbcEntityTemplate).insert(argThat((Object inserted) -> inserted instanceof ReactiveEmployeeChange change
+                && change.getEmployeeId() == 51L && change.getChangeType() == EmployeeChange.ChangeType.CREATED));
+    }
+
+    @Test
+    void testSaveEmployee_whenEmailAlreadyExists_thenThrowConflict() {
+        //Assign
+        EmployeeDTO employeeDTO = reactiveEmployeeMapper.toDTO(mockedEmployee);
+        when(reactiveEmployeeIdGenerator.nextId()).thenReturn(Mono.just(51L));
+        when(r2dbcEntityTemplate.insert(any(ReactiveEmployee.class))).thenReturn(Mono.error(
+                new DataIntegrityViolationException("Duplicate entry for key 'employee.uk_employee_email'")));
+        when(reactiveTransactionalOperator.transactional(anyMono())).thenAnswer(invocation -> invocation.getArgument(0));
+        //Act and Assert
+        StepVerifier.create(reactiveEmployeeService.saveEmployee(employeeDTO))
+                .expectError(RuntimeConflictException.class)
+                .verify();
+    }
+
+    @Test
+    void testUpdateEmployee_whenIdIsPresent_thenEvictCachedEmployee() {
+        //Assign
+        cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).put(1L, reactiveEmployeeMapper.toDTO(mockedEmployee));
+        EmployeeDTO updates = EmployeeDTO.builder().name("arun kumar").email("arunamballa@gmail.com").age(27).salary(2000.0).build();
+        when(reactiveEmployeeRepository.findById(1L)).thenReturn(Mono.just(mockedEmployee));
+        when(reactiveEmployeeRepository.save(any(ReactiveEmployee.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(r2dbcEntityTemplate.insert(any(ReactiveEmployeeChange.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(reactiveTransactionalOperator.transactional(anyMono())).thenAnswer(invocation -> invocation.getArgument(0));
+        //Act and Assert
+        StepVerifier.create(reactiveEmployeeService.updateEmployee(1L, updates))
+                .assertNext(updatedEmployee -> assertThat(updatedEmployee.getName()).isEqualTo("arun kumar"))
+                .verifyComplete();
+        assertThat(cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).get(1L)).isNull();
+        verify(r2dbcEntityTemplate).insert(argThat((Object inserted) -> inserted instanceof ReactiveEmployeeChange change
+                && "arun kumar".equals(change.getName()) && change.getChangeType() == EmployeeChange.ChangeType.UPDATED));
+    }
+
+    @Test
+    void testSaveEmployee_whenDepartmentDoesNotExist_thenThrowExceptionWithoutInserting() {
+        //Assign
+        EmployeeDTO employeeDTO = reactiveEmployeeMapper.toDTO(mockedEmployee);
+        employeeDTO.setDepartmentId(9L);
+        when(reactiveDepartmentRepository.existsById(9L)).thenReturn(Mono.just(false));
+        when(reactiveEmployeeIdGenerator.nextId()).thenReturn(Mono.just(51L));
+        //Act and Assert
+        StepVerifier.create(reactiveEmployeeService.saveEmployee(employeeDTO))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(InvalidRequestException.class)
+                        .hasMessage("Department does not exist with Id:9"))
+                .verify();
+        verify(r2dbcEntityTemplate, never()).insert(any());
+    }
+
+    @Test
+    void testUpdateEmployee_whenDepartmentIdIsAbsent_thenClearDepartment() {
+        //Assign
+        mockedEmployee.setDepartmentId(3L);
+        EmployeeDTO updates = EmployeeDTO.builder().name("arun").email("arunamballa@gmail.com").age(26).salary(1000.0).build();
+        when(reactiveEmployeeRepository.findById(1L)).thenReturn(Mono.just(mockedEmployee));
+        when(reactiveEmployeeRepository.save(any(ReactiveEmployee.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(r2dbcEntityTemplate.insert(any(ReactiveEmployeeChange.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(reactiveTransactionalOperator.transactional(anyMono())).thenAnswer(invocation -> invocation.getArgument(0));
+        //Act and Assert
+        StepVerifier.create(reactiveEmployeeService.updateEmployee(1L, updates))
+                .assertNext(updatedEmployee -> assertThat(updatedEmployee.getDepartmentId()).isNull())
+                .verifyComplete();
+        verify(reactiveDepartmentRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void testPatchEmployee_whenFieldIsNotPatchable_thenThrowExceptionWithoutLoading() {
+        //Assign
+        when(reactiveTransactionalOperator.transactional(anyMono())).thenAnswer(invocation -> invocation.getArgument(0));
+        //Act and Assert
+        StepVerifier.create(reactiveEmployeeService.patchEmployeeDetails(1L, Map.of("id", 5)))
+                .expectError(InvalidRequestException.class)
+                .verify();
+        verify(reactiveEmployeeRepository, never()).findById(anyLong());
+    }
+
+    //transactional is overloaded for Mono and Flux, a typed matcher picks the Mono one without a raw type
+    private static <T> Mono<T> anyMono() {
+        return any();
+    }
+}
@@ -0,0 +1,59 @@
+package com.aruncoding.arun.employeeManagement.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+class CoarseClockTest {
+
+    private final AtomicLong millis = new AtomicLong(Instant.parse("2024-01-01T10:15:30.000Z").toEpochMilli());
+
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis.get());
+        }
+    };
+
+    @Test
+    void testIsoLocalDateTime_whenWithinResolution_thenReturnSameValue() {
+        //Assign
+        CoarseClock coarseClock = new CoarseClock(clock, Duration.ofMillis(100));
+        String first = coarseClock.isoLocalDateTime();
+        millis.addAndGet(99);
+        //Act
+        String second = coarseClock.isoLocalDateTime();
+        //Assert
+        assertThat(second).isSameAs(first).isEqualTo("2024-01-01T10:15:30");
+    }
+
+    @Test
+    void testIsoLocalDateTime_whenResolutionPassed_thenReturnTruncatedNewValue() {
+        //Assign
+        CoarseClock coarseClock = new CoarseClock(clock, Duration.ofMillis(100));
+        coarseClock.isoLocalDateTime();
+        millis.addAndGet(250);
+        //Act
+        String later = coarseClock.isoLocalDateTime();
+        //Assert
+        assertThat(later).isEqualTo("2024-01-01T10:15:30.2");
+    }
+}
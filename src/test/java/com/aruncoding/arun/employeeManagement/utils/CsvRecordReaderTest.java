@@ -0,0 +1,44 @@
+package com.aruncoding.arun.employeeManagement.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+class CsvRecordReaderTest {
+
+    @Test
+    void testNext_whenFieldsAreQuoted_thenKeepSeparatorsQuotesAndLineBreaks() throws IOException {
+        //Assign
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(
+                "\uFEFFname,email\r\n\"Amballa, \"\"Arun\"\"\",a@x.com\r\n\r\n\"multi\nline\",,\nlast,b@x.com"));
+        //Act
+        List<String> header = reader.next();
+        List<String> first = reader.next();
+        List<String> second = reader.next();
+        List<String> third = reader.next();
+        //Assert
+        assertThat(header).containsExactly("name", "email");
+        assertThat(first).containsExactly("Amballa, \"Arun\"", "a@x.com");
+        assertThat(second).containsExactly("multi\nline", "", "");
+        assertThat(third).containsExactly("last", "b@x.com");
+        assertThat(reader.next()).isNull();
+        assertThat(reader.recordNumber()).isEqualTo(4);
+    }
+
+    @Test
+    void testNext_whenQuoteIsNotClosed_thenThrowException() throws IOException {
+        //Assign
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("name\n\"open"));
+        reader.next();
+        //Act and Assert
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(IOException.class)
+                .hasMessage("Unterminated quoted field in record 2");
+    }
+}
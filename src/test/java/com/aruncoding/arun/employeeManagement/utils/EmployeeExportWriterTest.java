@@ -0,0 +1,60 @@
+package com.aruncoding.arun.employeeManagement.utils;
+
+import com.aruncoding.arun.employeeManagement.dto.EmployeeDetailsDTO;
+import com.aruncoding.arun.employeeManagement.exceptions.InvalidRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+class EmployeeExportWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final EmployeeDetailsDTO withDepartment =
+            new EmployeeDetailsDTO(1L, "Amballa, \"Arun\"", "arun@gmail.com", 26, 1000.0, 2L, "Engineering");
+
+    private final EmployeeDetailsDTO withoutDepartment =
+            new EmployeeDetailsDTO(2L, "ravi", "ravi@gmail.com", 30, null, null, null);
+
+    @Test
+    void testWrite_whenFormatIsCsv_thenQuoteFieldsWithSeparators() throws IOException {
+        //Assign
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        //Act
+        try (EmployeeExportWriter writer = EmployeeExportWriter.create(EmployeeExportWriter.Format.CSV, out, objectMapper)) {
+            writer.write(withDepartment);
+            writer.write(withoutDepartment);
+        }
+        //Assert
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,name,email,age,salary,departmentId,departmentTitle\r\n" +
+                "1,\"Amballa, \"\"Arun\"\"\",arun@gmail.com,26,1000.0,2,Engineering\r\n" +
+                "2,ravi,ravi@gmail.com,30,,,\r\n");
+    }
+
+    @Test
+    void testWrite_whenFormatIsNdjson_thenWriteOneObjectPerLine() throws IOException {
+        //Assign
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        //Act
+        try (EmployeeExportWriter writer = EmployeeExportWriter.create(EmployeeExportWriter.Format.from("ndjson"), out, objectMapper)) {
+            writer.write(withDepartment);
+            writer.write(withoutDepartment);
+        }
+        //Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("departmentTitle").asText()).isEqualTo("Engineering");
+        assertThat(objectMapper.readTree(lines[1]).get("salary").isNull()).isTrue();
+        assertThatThrownBy(() -> EmployeeExportWriter.Format.from("xml"))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Unsupported export format:xml");
+    }
+}
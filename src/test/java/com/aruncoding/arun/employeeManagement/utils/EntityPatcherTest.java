@@ -0,0 +1,99 @@
+package com.aruncoding.arun.employeeManagement.utils;
+
+import com.aruncoding.arun.employeeManagement.entities.Employee;
+import com.aruncoding.arun.employeeManagement.exceptions.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.convert.support.DefaultConversionService;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+class EntityPatcherTest {
+
+    private final EntityPatcher<Employee> employeePatcher = new EntityPatcher<>(Employee.class,
+            Set.of("name", "email", "age", "salary"), DefaultConversionService.getSharedInstance());
+
+    @Test
+    void testPrepare_whenFieldIsNotPatchable_thenThrowException() {
+        //Assign
+        Map<String, Object> updates = Map.of("id", 5, "email", "arunamballa24@gmail.com");
+        //Act and Assert
+        assertThatThrownBy(() -> employeePatcher.prepare(updates))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Fields can not be patched:[id]");
+    }
+
+    @Test
+    void testPrepare_whenValueTypeDiffers_thenConvertValue() {
+        //Assign
+        Map<String, Object> updates = Map.of("salary", 2000, "age", "27");
+        //Act
+        Map<String, Object> prepared = employeePatcher.prepare(updates);
+        //Assert
+        assertThat(prepared.get("salary")).isEqualTo(2000.0);
+        assertThat(prepared.get("age")).isEqualTo(27);
+    }
+
+    @Test
+    void testPrepare_whenValueCanNotBeConverted_thenThrowException() {
+        //Assign
+        Map<String, Object> updates = Map.of("age", "twenty");
+        //Act and Assert
+        assertThatThrownBy(() -> employeePatcher.prepare(updates))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Invalid value for field age:twenty");
+    }
+
+    @Test
+    void testPrepare_whenIntegerFieldGetsFraction_thenThrowException() {
+        //Assign
+        Map<String, Object> updates = Map.of("age", 30.7);
+        //Act and Assert
+        assertThatThrownBy(() -> employeePatcher.prepare(updates))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Invalid value for field age:30.7");
+    }
+
+    @Test
+    void testPrepare_whenIntegerFieldGetsWholeDecimal_thenConvertValue() {
+        //Assign
+        Map<String, Object> updates = Map.of("age", 30.0);
+        //Act
+        Map<String, Object> prepared = employeePatcher.prepare(updates);
+        //Assert
+        assertThat(prepared.get("age")).isEqualTo(30);
+    }
+
+    @Test
+    void testPrepare_whenPrimitiveFieldIsNull_thenThrowException() {
+        //Assign
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("age", null);
+        //Act and Assert
+        assertThatThrownBy(() -> employeePatcher.prepare(updates))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Field age can not be null");
+    }
+
+    @Test
+    void testApply_whenUpdatesArePrepared_thenSetFields() {
+        //Assign
+        Employee employee = Employee.builder().id(1L).name("arun").age(26).salary(1000.0).build();
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("age", 30);
+        updates.put("salary", null);
+        updates.put("name", "varun");
+        //Act
+        employeePatcher.apply(employee, employeePatcher.prepare(updates));
+        //Assert
+        assertThat(employee.getAge()).isEqualTo(30);
+        assertThat(employee.getSalary()).isNull();
+        assertThat(employee.getName()).isEqualTo("varun");
+        assertThat(employee.getId()).isEqualTo(1L);
+    }
+}
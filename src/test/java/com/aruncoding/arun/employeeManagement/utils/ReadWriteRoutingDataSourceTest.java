@@ -0,0 +1,106 @@
+package com.aruncoding.arun.employeeManagement.utils;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final AtomicReference<Duration> replicaLag = new AtomicReference<>(Duration.ZERO);
+
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate writeTransaction;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @AfterEach
+    void tearDown() {
+        routingDataSource.close();
+    }
+
+    @Test
+    void testRouting_whenTransactionIsReadOnly_thenReadFromReplica() {
+        //Assign
+        setUp(ReadWriteRoutingDataSource.Selection.ROUND_ROBIN, node("primary"), node("replica"));
+        //Act
+        String readNode = readOnlyTransaction.execute(status -> currentNode());
+        String writeNode = writeTransaction.execute(status -> currentNode());
+        //Assert
+        assertThat(readNode).isEqualTo("replica");
+        assertThat(writeNode).isEqualTo("primary");
+        assertThat(currentNode()).isEqualTo("primary");
+    }
+
+    @Test
+    void testRouting_whenReplicaLagsBehind_thenReadFromPrimary() {
+        //Assign
+        setUp(ReadWriteRoutingDataSource.Selection.ROUND_ROBIN, node("primary"), node("replica"));
+        replicaLag.set(Duration.ofSeconds(10));
+        routingDataSource.checkReplicas();
+        //Act
+        String laggingNode = readOnlyTransaction.execute(status -> currentNode());
+        replicaLag.set(Duration.ZERO);
+        routingDataSource.checkReplicas();
+        String caughtUpNode = readOnlyTransaction.execute(status -> currentNode());
+        //Assert
+        assertThat(laggingNode).isEqualTo("primary");
+        assertThat(caughtUpNode).isEqualTo("replica");
+    }
+
+    @Test
+    void testRouting_whenLeastConnections_thenReadFromLeastBusyReplica() throws Exception {
+        //Assign
+        HikariDataSource busyReplica = node("replica-busy");
+        setUp(ReadWriteRoutingDataSource.Selection.LEAST_CONNECTIONS, node("primary"), busyReplica, node("replica-idle"));
+        //Act
+        String readNode;
+        try (Connection held = busyReplica.getConnection()) {
+            readNode = readOnlyTransaction.execute(status -> currentNode());
+        }
+        //Assert
+        assertThat(readNode).isEqualTo("replica-idle");
+    }
+
+    private void setUp(ReadWriteRoutingDataSource.Selection selection, HikariDataSource primary, HikariDataSource... replicas) {
+        routingDataSource = new ReadWriteRoutingDataSource(primary, List.of(replicas), selection,
+                replica -> replicaLag.get(), Duration.ofSeconds(2), Duration.ofHours(1));
+        routingDataSource.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    //Each node is its own in-memory database that knows its name
+    private HikariDataSource node(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setMaximumPoolSize(2);
+        JdbcTemplate nodeTemplate = new JdbcTemplate(dataSource);
+        nodeTemplate.execute("create table node (name varchar(32))");
+        nodeTemplate.update("insert into node values (?)", name);
+        return dataSource;
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+}
@@ -0,0 +1,83 @@
+package com.aruncoding.arun.employeeManagement.utils;
+
+import com.aruncoding.arun.employeeManagement.exceptions.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>("test", meterRegistry);
+
+    @Test
+    void testExecute_whenCalledConcurrentlyWithSameKey_thenRunLoaderOnce() throws Exception {
+        //Assign
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        List<Future<String>> results = new ArrayList<>();
+        //Act
+        try {
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> singleFlight.execute(1L, () -> {
+                    loads.incrementAndGet();
+                    awaitQuietly(release);
+                    return "arun";
+                })));
+            }
+            //Every caller but the one running the loader has to be waiting before the loader may finish
+            long deadline = System.currentTimeMillis() + 5000;
+            while (coalesced() < 7 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("arun");
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        //Assert
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(coalesced()).isEqualTo(7.0);
+        assertThat(meterRegistry.get("employee.single-flight.in-flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void testExecute_whenLoaderFails_thenRethrowAndRunAgainNextTime() {
+        //Act and Assert
+        assertThatThrownBy(() -> singleFlight.execute(2L, () -> {
+            throw new ResourceNotFoundException("Employee not found with Id:2");
+        }))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Employee not found with Id:2");
+        //The failed call is not remembered
+        assertThat(singleFlight.execute(2L, () -> "arun")).isEqualTo("arun");
+    }
+
+    private double coalesced() {
+        return meterRegistry.get("employee.single-flight.calls").tag("result", "coalesced").counter().count();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}